@@ -1,23 +1,43 @@
 package com.cctv.controlcenter.api;
 
+import com.cctv.controlcenter.api.dto.EventBatchResponse;
 import com.cctv.controlcenter.api.dto.EventCreateRequest;
+import com.cctv.controlcenter.api.dto.EventScrollResponse;
 import com.cctv.controlcenter.api.dto.TrafficEventRequest;
 import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.domain.EventRollup;
 import com.cctv.controlcenter.dto.EventDTO;
+import com.cctv.controlcenter.dto.EventStatsDTO;
+import com.cctv.controlcenter.service.EventBroadcaster;
+import com.cctv.controlcenter.service.EventExporter;
 import com.cctv.controlcenter.service.EventService;
+import com.cctv.controlcenter.service.EventWriteBehindQueue;
+import com.cctv.controlcenter.service.ReactiveEventStream;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/events")
@@ -26,55 +46,93 @@ public class EventController {
     private static final Logger log = LoggerFactory.getLogger(EventController.class);
     
     private final EventService eventService;
+    private final EventWriteBehindQueue writeBehindQueue;
+    private final ReactiveEventStream reactiveEventStream;
+    private final EventExporter eventExporter;
     
-    public EventController(EventService eventService) {
+    @Value("${cctv.events.batch.max-items:1000}")
+    private int maxBatchItems;
+    
+    @Value("${cctv.events.scroll.max-size:500}")
+    private int maxScrollSize;
+    
+    @Value("${cctv.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+    
+    public EventController(EventService eventService, EventWriteBehindQueue writeBehindQueue,
+            ReactiveEventStream reactiveEventStream, EventExporter eventExporter) {
         this.eventService = eventService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.reactiveEventStream = reactiveEventStream;
+        this.eventExporter = eventExporter;
     }
     
     @PostMapping
-    public ResponseEntity<Event> createEvent(@Valid @RequestBody EventCreateRequest request) {
+    public ResponseEntity<?> createEvent(@Valid @RequestBody EventCreateRequest request) {
         log.info("이벤트 생성 요청: {}", request);
+        
+        // 비동기 수집 모드: 큐에 넣고 할당된 ID와 함께 202 응답
+        if (writeBehindQueue.isEnabled()) {
+            UUID eventId = writeBehindQueue.enqueue(request);
+            // 대기열이 가득 차면 수집 한도 초과와 같이 429와 Retry-After로 응답하여 탐지기가 같은 방식으로 재시도하게 함
+            if (eventId == null) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .build();
+            }
+            return ResponseEntity.accepted().body(Map.of("id", eventId));
+        }
+        
         Event event = eventService.createEvent(request);
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok(eventService.toDto(event));
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<EventBatchResponse> createEvents(@RequestBody List<EventCreateRequest> requests) {
+        log.info("이벤트 일괄 생성 요청: {}건", requests.size());
+        
+        if (requests.isEmpty() || requests.size() > maxBatchItems) {
+            log.warn("허용되지 않는 배치 크기: {} (최대 {})", requests.size(), maxBatchItems);
+            return ResponseEntity.badRequest().build();
+        }
+        
+        EventBatchResponse response = eventService.createEvents(requests);
+        return ResponseEntity.ok(response);
     }
     
+    /**
+     * 페이지 번호 기반 이벤트 목록. countMode=exact(기본)이면 전체 건수를 세고, none이면 건수 없이 hasNext만,
+     * estimate이면 일정 건수 이상은 추정값을 반환한다.
+     */
     @GetMapping
-    public ResponseEntity<Page<EventDTO>> getEvents(
+    public ResponseEntity<?> getEvents(
             @RequestParam(required = false) String cameraId,
             @RequestParam(required = false) String eventType,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(defaultValue = "0") Integer severity,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "exact") String countMode) {
         
-        log.info("이벤트 목록 조회: cameraId={}, eventType={}, startDate={}, endDate={}, severity={}, page={}, size={}", 
-                cameraId, eventType, startDate, endDate, severity, page, size);
+        log.info("이벤트 목록 조회: cameraId={}, eventType={}, startDate={}, endDate={}, severity={}, page={}, size={}, countMode={}", 
+                cameraId, eventType, startDate, endDate, severity, page, size, countMode);
+        
+        if (!countMode.equals("exact") && !countMode.equals("none") && !countMode.equals("estimate")) {
+            log.warn("지원하지 않는 countMode: {}", countMode);
+            return ResponseEntity.badRequest().build();
+        }
         
         try {
-            LocalDateTime startDateTime = null;
-            LocalDateTime endDateTime = null;
-            
-            if (startDate != null && !startDate.isEmpty()) {
-                try {
-                    startDateTime = LocalDate.parse(startDate).atStartOfDay();
-                } catch (Exception e) {
-                    log.warn("잘못된 시작일 형식: {}", startDate);
-                }
-            }
-            if (endDate != null && !endDate.isEmpty()) {
-                try {
-                    endDateTime = LocalDate.parse(endDate).atTime(23, 59, 59);
-                } catch (Exception e) {
-                    log.warn("잘못된 종료일 형식: {}", endDate);
-                }
-            }
+            LocalDateTime startDateTime = parseStartDate(startDate);
+            LocalDateTime endDateTime = parseEndDate(endDate);
             
             Pageable pageable = PageRequest.of(page, size);
-            Page<Event> events = eventService.getEventsWithFilters(cameraId, eventType, startDateTime, endDateTime, severity, pageable);
-            
-            // Event를 EventDTO로 변환
-            Page<EventDTO> eventDTOs = events.map(EventDTO::new);
+            if (!countMode.equals("exact")) {
+                return ResponseEntity.ok(eventService.getEventsWithoutExactCount(cameraId, eventType,
+                        startDateTime, endDateTime, severity, pageable, countMode.equals("estimate")));
+            }
+            Page<EventDTO> eventDTOs = eventService.getEventsWithFilters(cameraId, eventType, startDateTime, endDateTime, severity, pageable);
             
             log.info("이벤트 목록 조회 완료: {}개", eventDTOs.getTotalElements());
             return ResponseEntity.ok(eventDTOs);
@@ -87,10 +145,183 @@ public class EventController {
         }
     }
 
+    /**
+     * 커서 기반 이벤트 목록 (무한 스크롤용). 응답의 nextCursor를 cursor로 넘기면 다음 페이지를 조회하며,
+     * 필터는 첫 요청과 같아야 한다. 전체 건수는 includeCount=true일 때만 계산한다.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<EventScrollResponse> scrollEvents(
+            @RequestParam(required = false) String cameraId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "0") Integer severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        
+        if (size < 1 || size > maxScrollSize) {
+            log.warn("잘못된 페이지 크기: {} (최대 {})", size, maxScrollSize);
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.scrollEvents(cameraId, eventType, parseStartDate(startDate),
+                    parseEndDate(endDate), severity, cursor, size, includeCount));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 커서: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 필터에 맞는 이벤트를 NDJSON(기본) 또는 CSV로 스트리밍한다. 결과를 메모리에 모으지 않으므로 건수 제한이 없다.
+     * 동시 내보내기 수(cctv.events.export.max-concurrent)를 넘으면 429를 반환한다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(required = false) String cameraId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "0") Integer severity,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        EventExporter.Format exportFormat;
+        try {
+            exportFormat = EventExporter.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            log.warn("지원하지 않는 내보내기 형식: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        if (!eventExporter.tryAcquire()) {
+            log.warn("동시 내보내기 한도 초과");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        
+        LocalDateTime startDateTime = parseStartDate(startDate);
+        LocalDateTime endDateTime = parseEndDate(endDate);
+        log.info("이벤트 내보내기: cameraId={}, eventType={}, startDate={}, endDate={}, severity={}, format={}",
+                cameraId, eventType, startDate, endDate, severity, exportFormat);
+        StreamingResponseBody body = out -> {
+            try {
+                eventExporter.export(cameraId, eventType, startDateTime, endDateTime, severity, exportFormat, out);
+            } finally {
+                eventExporter.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    /**
+     * 구간별 이벤트 통계 (granularity=minute|hour|day, 기본 hour). 기간을 지정하지 않으면 최근 24시간을 조회한다.
+     * groupBy에 camera,type,severity를 쉼표로 나열하면 구간마다 해당 항목별로 나눠 집계한다.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<EventStatsDTO>> getEventStats(
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cameraId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) List<String> groupBy) {
+        
+        try {
+            EventRollup.Granularity unit = EventRollup.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            boolean byCamera = false;
+            boolean byType = false;
+            boolean bySeverity = false;
+            if (groupBy != null) {
+                for (String group : groupBy) {
+                    switch (group.trim().toLowerCase(Locale.ROOT)) {
+                        case "camera" -> byCamera = true;
+                        case "type" -> byType = true;
+                        case "severity" -> bySeverity = true;
+                        default -> throw new IllegalArgumentException("지원하지 않는 groupBy: " + group);
+                    }
+                }
+            }
+            LocalDateTime endDateTime = endDate != null && !endDate.isEmpty()
+                    ? LocalDate.parse(endDate).plusDays(1).atStartOfDay() : LocalDateTime.now();
+            LocalDateTime startDateTime = startDate != null && !startDate.isEmpty()
+                    ? LocalDate.parse(startDate).atStartOfDay() : endDateTime.minusDays(1);
+            return ResponseEntity.ok(eventService.getEventStats(unit, startDateTime, endDateTime,
+                    cameraId, eventType, byCamera, byType, bySeverity));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("잘못된 통계 조회 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    private LocalDateTime parseStartDate(String startDate) {
+        if (startDate == null || startDate.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(startDate).atStartOfDay();
+        } catch (Exception e) {
+            log.warn("잘못된 시작일 형식: {}", startDate);
+            return null;
+        }
+    }
+    
+    // 종료일 당일 전체를 포함하도록 다음 날 0시 미만으로 조회
+    private LocalDateTime parseEndDate(String endDate) {
+        if (endDate == null || endDate.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(endDate).plusDays(1).atStartOfDay();
+        } catch (Exception e) {
+            log.warn("잘못된 종료일 형식: {}", endDate);
+            return null;
+        }
+    }
+    
+    /**
+     * SSE 이벤트 스트림. mode=tiles이면 개별 이벤트 대신 카메라별 최신 상태(상태, 마지막 이벤트, 차량 수)를
+     * 틱마다 묶어 보낸다. 타일 모드에서는 cameraIds만 적용되고 나머지 필터와 Last-Event-ID는 무시된다.
+     */
     @GetMapping("/stream")
-    public SseEmitter streamEvents() {
-        log.info("SSE 이벤트 스트림 구독 요청");
-        return eventService.subscribeToEvents();
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) Set<String> cameraIds,
+            @RequestParam(required = false) Set<String> types,
+            @RequestParam(defaultValue = "0") Integer minSeverity,
+            @RequestParam(defaultValue = "0.0") Double minScore,
+            @RequestParam(defaultValue = "events") String mode,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if ("tiles".equals(mode)) {
+            log.info("SSE 카메라 타일 스트림 구독 요청: cameraIds={}", cameraIds);
+            return eventService.subscribeToCameraTiles(cameraIds);
+        }
+        if (!"events".equals(mode)) {
+            throw new IllegalArgumentException("지원하지 않는 스트림 모드입니다: " + mode);
+        }
+        log.info("SSE 이벤트 스트림 구독 요청: cameraIds={}, types={}, minSeverity={}, minScore={}, Last-Event-ID={}",
+                cameraIds, types, minSeverity, minScore, lastEventId);
+        return eventService.subscribeToEvents(
+                new EventBroadcaster.SubscriptionFilter(cameraIds, types, minSeverity, minScore), lastEventId);
+    }
+    
+    /**
+     * 리액티브 SSE 스트림. 필터는 /stream과 같고, overflow로 느린 구독자의 배압 전략을 선택한다 (latest 또는 buffer).
+     */
+    @GetMapping(value = "/stream/reactive", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamEventsReactive(
+            @RequestParam(required = false) Set<String> cameraIds,
+            @RequestParam(required = false) Set<String> types,
+            @RequestParam(defaultValue = "0") Integer minSeverity,
+            @RequestParam(defaultValue = "0.0") Double minScore,
+            @RequestParam(defaultValue = "latest") String overflow,
+            @RequestParam(required = false) Integer bufferSize) {
+        log.info("리액티브 이벤트 스트림 구독 요청: cameraIds={}, types={}, minSeverity={}, minScore={}, overflow={}",
+                cameraIds, types, minSeverity, minScore, overflow);
+        return reactiveEventStream.subscribe(
+                new EventBroadcaster.SubscriptionFilter(cameraIds, types, minSeverity, minScore), overflow, bufferSize);
     }
     
     @GetMapping("/camera/{cameraId}")
@@ -101,9 +332,9 @@ public class EventController {
     }
     
     @PostMapping("/traffic")
-    public ResponseEntity<Event> createTrafficEvent(@Valid @RequestBody TrafficEventRequest request) {
+    public ResponseEntity<EventDTO> createTrafficEvent(@Valid @RequestBody TrafficEventRequest request) {
         log.info("통행량 많음 이벤트 생성 요청: {}", request);
         Event event = eventService.createTrafficEvent(request);
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok(eventService.toDto(event));
     }
 }
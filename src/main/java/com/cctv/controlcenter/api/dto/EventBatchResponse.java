@@ -0,0 +1,86 @@
+package com.cctv.controlcenter.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class EventBatchResponse {
+    
+    private int total;
+    private int created;
+    private int failed;
+    private int suppressed;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    // Constructors
+    public EventBatchResponse() {}
+    
+    public void addCreated(int index, UUID eventId) {
+        results.add(new ItemResult(index, eventId, null));
+        total++;
+        created++;
+    }
+    
+    public void addFailed(int index, String error) {
+        results.add(new ItemResult(index, null, error));
+        total++;
+        failed++;
+    }
+    
+    // 억제 구간 내 중복 탐지: 새로 저장하지 않고 eventId의 이벤트에 합산됨
+    public void addSuppressed(int index, UUID eventId) {
+        ItemResult result = new ItemResult(index, eventId, null);
+        result.setSuppressed(true);
+        results.add(result);
+        total++;
+        suppressed++;
+    }
+    
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public int getSuppressed() { return suppressed; }
+    public void setSuppressed(int suppressed) { this.suppressed = suppressed; }
+    
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+    
+    // 요청 배열의 각 항목별 처리 결과 (index는 요청 배열 내 위치)
+    public static class ItemResult {
+        private int index;
+        private UUID eventId;
+        private String error;
+        private boolean suppressed;
+        
+        // Constructors
+        public ItemResult() {}
+        
+        public ItemResult(int index, UUID eventId, String error) {
+            this.index = index;
+            this.eventId = eventId;
+            this.error = error;
+        }
+        
+        public boolean isSuccess() { return error == null; }
+        
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public UUID getEventId() { return eventId; }
+        public void setEventId(UUID eventId) { this.eventId = eventId; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+        
+        public boolean isSuppressed() { return suppressed; }
+        public void setSuppressed(boolean suppressed) { this.suppressed = suppressed; }
+    }
+}
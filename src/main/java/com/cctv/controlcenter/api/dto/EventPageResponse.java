@@ -0,0 +1,39 @@
+package com.cctv.controlcenter.api.dto;
+
+import com.cctv.controlcenter.dto.EventDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 정확한 전체 건수 없이 반환하는 이벤트 목록 (countMode=none|estimate).
+ * none이면 totalElements가 없고, estimate이면 totalExact=false일 때 totalElements는 추정값이다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventPageResponse {
+    
+    private final List<EventDTO> content;
+    private final int number;
+    private final int size;
+    private final boolean hasNext;
+    private final Long totalElements;
+    private final Boolean totalExact;
+    
+    public EventPageResponse(List<EventDTO> content, int number, int size, boolean hasNext,
+            Long totalElements, Boolean totalExact) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalExact = totalExact;
+    }
+    
+    // Getters
+    public List<EventDTO> getContent() { return content; }
+    public int getNumber() { return number; }
+    public int getSize() { return size; }
+    public boolean isHasNext() { return hasNext; }
+    public Long getTotalElements() { return totalElements; }
+    public Boolean getTotalExact() { return totalExact; }
+}
@@ -0,0 +1,32 @@
+package com.cctv.controlcenter.api.dto;
+
+import com.cctv.controlcenter.dto.EventDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 커서 기반 이벤트 목록 응답. nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회한다.
+ * totalElements는 includeCount=true로 요청한 경우에만 포함된다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventScrollResponse {
+    
+    private final List<EventDTO> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+    private final Long totalElements;
+    
+    public EventScrollResponse(List<EventDTO> content, String nextCursor, boolean hasNext, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+    }
+    
+    // Getters
+    public List<EventDTO> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+    public Long getTotalElements() { return totalElements; }
+}
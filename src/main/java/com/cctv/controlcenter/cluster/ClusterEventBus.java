@@ -0,0 +1,16 @@
+package com.cctv.controlcenter.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 이벤트 전파 계층.
+ * 이벤트를 저장한 노드가 커밋 후 한 번 {@link #publish(CommittedEvent)}하면, 자신을 포함한 모든 노드의
+ * 리스너가 이벤트를 받아 각자 연결된 구독자에게 전송한다.
+ * 구현은 cctv.cluster.bus로 선택한다 (local: 단일 노드, postgres: LISTEN/NOTIFY).
+ */
+public interface ClusterEventBus {
+    
+    void publish(CommittedEvent event);
+    
+    void subscribe(Consumer<CommittedEvent> listener);
+}
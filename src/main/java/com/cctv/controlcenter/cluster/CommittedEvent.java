@@ -0,0 +1,40 @@
+package com.cctv.controlcenter.cluster;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.dto.EventDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 커밋된 이벤트의 전파용 사본. 엔티티 없이도 모든 노드에서 SSE/WebSocket 전송에 필요한 값을 담는다.
+ * bbox는 좌표 컬럼 값 (레거시 행은 null이고 bboxJson만 있음).
+ */
+public record CommittedEvent(UUID id, String cameraId, String cameraName, LocalDateTime ts, String type,
+        Integer severity, Double score, int[] bbox, String bboxJson, String metaJson, Integer vehicleCount,
+        LocalDateTime createdAt) {
+    
+    public static CommittedEvent of(Event event, String cameraName) {
+        int[] bbox = event.getBboxX() != null
+                ? new int[] {event.getBboxX(), event.getBboxY(), event.getBboxW(), event.getBboxH()}
+                : null;
+        return new CommittedEvent(event.getId(), event.getCamera() != null ? event.getCamera().getId() : null,
+                cameraName, event.getTs(), event.getType(), event.getSeverity(), event.getScore(), bbox,
+                event.getBboxJson(), event.getMetaJson(), event.getVehicleCount(), event.getCreatedAt());
+    }
+    
+    public EventDTO toDto() {
+        EventDTO dto = new EventDTO();
+        dto.setId(id);
+        dto.setCameraId(cameraId);
+        dto.setCameraName(cameraName);
+        dto.setTs(ts);
+        dto.setType(type);
+        dto.setSeverity(severity);
+        dto.setScore(score);
+        dto.setBboxJson(bboxJson);
+        dto.setMetaJson(metaJson);
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+}
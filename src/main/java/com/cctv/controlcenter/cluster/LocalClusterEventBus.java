@@ -0,0 +1,30 @@
+package com.cctv.controlcenter.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용 전파 계층. 발행한 스레드에서 바로 리스너를 호출한다.
+ */
+@Component
+@ConditionalOnProperty(name = "cctv.cluster.bus", havingValue = "local", matchIfMissing = true)
+public class LocalClusterEventBus implements ClusterEventBus {
+    
+    private final List<Consumer<CommittedEvent>> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(CommittedEvent event) {
+        for (Consumer<CommittedEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<CommittedEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,279 @@
+package com.cctv.controlcenter.cluster;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.repository.EventRepository;
+import com.cctv.controlcenter.service.CameraRegistry;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 기반 노드 간 이벤트 전파 (docker 프로필).
+ * 발행한 노드는 로컬 리스너를 바로 호출하고, 전파용 메시지는 발행 스레드가 모아서 한 번의
+ * pg_notify 호출로 보낸다. 각 노드는 전용 연결로 LISTEN하며 자신이 보낸 메시지는 무시한다.
+ * NOTIFY 페이로드 한도(8000바이트)를 넘는 이벤트는 ID만 보내고 받는 노드가 DB에서 읽는다.
+ * 수신 연결이 끊긴 동안의 이벤트는 전달되지 않으며, 구독자는 replay-gap과 같이 목록 조회로 동기화해야 한다.
+ * 카메라 캐시({@link CameraRegistry}) 무효화도 같은 채널로 전파하여 다른 노드가 변경된 카메라를 다시 읽게 한다
+ * (놓친 무효화는 캐시 만료 시간 안에 반영됨).
+ */
+@Component
+@ConditionalOnProperty(name = "cctv.cluster.bus", havingValue = "postgres")
+public class PostgresClusterEventBus implements ClusterEventBus {
+    
+    private static final Logger log = LoggerFactory.getLogger(PostgresClusterEventBus.class);
+    
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final EventRepository eventRepository;
+    private final CameraRegistry cameraRegistry;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<Consumer<CommittedEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<String> outbox;
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter droppedCounter;
+    
+    @Value("${cctv.cluster.postgres.channel:cctv_events}")
+    private String channel;
+    
+    @Value("${cctv.cluster.postgres.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${cctv.cluster.postgres.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+    
+    private Thread publisherThread;
+    private Thread listenerThread;
+    private volatile boolean running;
+    
+    public PostgresClusterEventBus(DataSource dataSource, DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper, EventRepository eventRepository, CameraRegistry cameraRegistry,
+            MeterRegistry meterRegistry, @Value("${cctv.cluster.postgres.outbox-capacity:10000}") int outboxCapacity) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.eventRepository = eventRepository;
+        this.cameraRegistry = cameraRegistry;
+        this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
+        this.publishedCounter = Counter.builder("cctv.cluster.published")
+                .description("다른 노드에 전파한 이벤트 수")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cctv.cluster.received")
+                .description("다른 노드에서 받은 이벤트 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("cctv.cluster.dropped")
+                .description("전파 대기열 초과 또는 NOTIFY 실패로 전파하지 못한 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("cctv.cluster.outbox", outbox, BlockingQueue::size)
+                .description("전파 대기 중인 이벤트 수")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        // LISTEN 채널명은 바인드 변수로 넘길 수 없으므로 식별자 형식만 허용
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("잘못된 클러스터 채널명입니다: " + channel);
+        }
+        running = true;
+        publisherThread = new Thread(this::publishLoop, "cluster-notify");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+        listenerThread = new Thread(this::listenLoop, "cluster-listen");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        cameraRegistry.setClusterPublisher(this::publishCameraInvalidation);
+        log.info("클러스터 이벤트 전파 시작: 채널={}, 노드={}", channel, nodeId);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        listenerThread.join(TimeUnit.SECONDS.toMillis(5));
+        log.info("클러스터 이벤트 전파 종료: 노드={}", nodeId);
+    }
+    
+    @Override
+    public void publish(CommittedEvent event) {
+        for (Consumer<CommittedEvent> listener : listeners) {
+            listener.accept(event);
+        }
+        
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Message(nodeId, event, null, null));
+            if (payload.length() * 3 > MAX_PAYLOAD_BYTES
+                    && payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(new Message(nodeId, null, event.id(), null));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("클러스터 이벤트 직렬화 실패: id={}", event.id(), e);
+            return;
+        }
+        if (!outbox.offer(payload)) {
+            droppedCounter.increment();
+            log.warn("클러스터 전파 대기열 초과, 이벤트를 다른 노드에 전파하지 못함: id={}", event.id());
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<CommittedEvent> listener) {
+        listeners.add(listener);
+    }
+    
+    private void publishCameraInvalidation(String cameraId) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Message(nodeId, null, null, cameraId));
+        } catch (JsonProcessingException e) {
+            log.error("카메라 무효화 직렬화 실패: cameraId={}", cameraId, e);
+            return;
+        }
+        if (!outbox.offer(payload)) {
+            droppedCounter.increment();
+            log.warn("클러스터 전파 대기열 초과, 카메라 무효화를 다른 노드에 전파하지 못함: cameraId={}", cameraId);
+        }
+    }
+    
+    private void publishLoop() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running || !outbox.isEmpty()) {
+            try {
+                String first = outbox.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbox.drainTo(batch, batchSize - 1);
+                sendNotifications(batch);
+                publishedCounter.increment(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                droppedCounter.increment(batch.size());
+                log.warn("클러스터 이벤트 전파 실패: {}건", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    // 한 번의 호출로 여러 알림을 보냄. 알림은 커밋 시점에 전달되므로 자동 커밋이 아니면 직접 커밋
+    private void sendNotifications(List<String> payloads) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT pg_notify(?, payload) FROM unnest(?) AS payload")) {
+            statement.setString(1, channel);
+            statement.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+            statement.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+    
+    // 커넥션 풀을 점유하지 않도록 LISTEN은 풀 밖의 전용 연결로 수행
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("클러스터 이벤트 수신 대기: 채널={}", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("클러스터 이벤트 수신 연결 오류, {}ms 후 재연결: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void receive(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            if (nodeId.equals(message.node())) {
+                return;
+            }
+            if (message.camera() != null) {
+                cameraRegistry.invalidateFromCluster(message.camera());
+                return;
+            }
+            CommittedEvent event = message.event() != null ? message.event() : load(message.ref());
+            if (event == null) {
+                return;
+            }
+            receivedCounter.increment();
+            for (Consumer<CommittedEvent> listener : listeners) {
+                listener.accept(event);
+            }
+        } catch (Exception e) {
+            log.warn("클러스터 이벤트 처리 실패: {}", e.getMessage());
+        }
+    }
+    
+    private CommittedEvent load(UUID eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            log.warn("전파된 이벤트를 찾을 수 없습니다: {}", eventId);
+            return null;
+        }
+        CameraRegistry.CameraSnapshot camera = event.getCamera() != null
+                ? cameraRegistry.snapshot(event.getCamera().getId())
+                : null;
+        return CommittedEvent.of(event, camera != null ? camera.name() : null);
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Message(String node, CommittedEvent event, UUID ref, String camera) {}
+}
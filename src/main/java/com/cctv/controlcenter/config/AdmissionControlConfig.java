@@ -0,0 +1,24 @@
+package com.cctv.controlcenter.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+    
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    
+    public AdmissionControlConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // SSE 스트림/WebSocket과 내보내기는 연결이 오래 유지되므로 조회 한도에서 제외
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/events/stream", "/api/events/stream/**", "/api/events/export",
+                        "/api/events/ws");
+    }
+}
@@ -0,0 +1,197 @@
+package com.cctv.controlcenter.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트 수집/조회 요청의 동시 처리 수 제한.
+ * 수집 요청(POST /api/events, /api/events/batch, /api/events/traffic)은 커밋 지연에 따라 한도가 조정되는 AIMD 방식으로,
+ * 조회 요청(GET /api/**)은 별도의 고정 한도로 관리하여 수집 폭주 중에도 관제 화면 조회가 가능하도록 한다.
+ * 한도를 넘는 요청은 즉시 429와 Retry-After로 거절한다.
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+    
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final String STARTED_AT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".startedAt";
+    
+    private enum Permit { INGEST, READ }
+    
+    @Value("${cctv.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${cctv.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+    
+    private final AdaptiveLimit ingestLimit;
+    private final Semaphore readPermits;
+    private final Counter ingestShedCounter;
+    private final Counter readShedCounter;
+    
+    public AdmissionControlInterceptor(MeterRegistry meterRegistry,
+            @Value("${cctv.admission.ingest.initial-limit:50}") int initialLimit,
+            @Value("${cctv.admission.ingest.min-limit:4}") int minLimit,
+            @Value("${cctv.admission.ingest.max-limit:200}") int maxLimit,
+            @Value("${cctv.admission.ingest.target-latency-ms:250}") long targetLatencyMs,
+            @Value("${cctv.admission.read.max-concurrent:50}") int readMaxConcurrent) {
+        this.ingestLimit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(targetLatencyMs));
+        this.readPermits = new Semaphore(readMaxConcurrent);
+        this.ingestShedCounter = Counter.builder("cctv.admission.shed")
+                .description("동시 처리 한도 초과로 거절한 요청 수")
+                .tag("class", "ingest")
+                .register(meterRegistry);
+        this.readShedCounter = Counter.builder("cctv.admission.shed")
+                .description("동시 처리 한도 초과로 거절한 요청 수")
+                .tag("class", "read")
+                .register(meterRegistry);
+        Gauge.builder("cctv.admission.ingest.limit", ingestLimit, AdaptiveLimit::getLimit)
+                .description("현재 수집 요청 동시 처리 한도")
+                .register(meterRegistry);
+        Gauge.builder("cctv.admission.ingest.inflight", ingestLimit, AdaptiveLimit::getInflight)
+                .description("처리 중인 수집 요청 수")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!enabled || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        // 비동기 처리 결과를 쓰기 위한 재디스패치는 최초 디스패치에서 이미 허용된 요청 (응답이 시작된 뒤라 거절할 수도 없음)
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        
+        if (HttpMethod.POST.matches(request.getMethod()) && request.getRequestURI().startsWith("/api/events")) {
+            if (!ingestLimit.tryAcquire()) {
+                ingestShedCounter.increment();
+                log.debug("수집 요청 거절: 한도={}, 처리 중={}", ingestLimit.getLimit(), ingestLimit.getInflight());
+                reject(response, "이벤트 수집 요청이 많습니다. 잠시 후 다시 시도하세요.");
+                return false;
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Permit.INGEST);
+            request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        } else if (HttpMethod.GET.matches(request.getMethod())) {
+            if (!readPermits.tryAcquire()) {
+                readShedCounter.increment();
+                reject(response, "조회 요청이 많습니다. 잠시 후 다시 시도하세요.");
+                return false;
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Permit.READ);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+    
+    // 비동기 처리(스트리밍 응답 등)로 넘어간 요청은 그 시점에 반환
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+    
+    private void release(HttpServletRequest request) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        if (permit == Permit.INGEST) {
+            long startedAt = (Long) request.getAttribute(STARTED_AT_ATTRIBUTE);
+            ingestLimit.release(System.nanoTime() - startedAt);
+        } else {
+            readPermits.release();
+        }
+    }
+    
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+    
+    /**
+     * AIMD 동시 처리 한도.
+     * 처리 시간(트랜잭션 커밋 포함)이 목표 지연을 넘으면 한도를 10% 줄이고(목표 지연 구간당 한 번),
+     * 한도의 절반 이상을 사용 중일 때 정상 처리되면 1씩 늘린다.
+     */
+    static final class AdaptiveLimit {
+        private final int minLimit;
+        private final int maxLimit;
+        private final long targetLatencyNanos;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private volatile int limit;
+        private long lastDecreaseAt;
+        
+        AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+            if (minLimit < 1 || minLimit > maxLimit) {
+                throw new IllegalArgumentException("잘못된 수집 동시 처리 한도 설정: min=" + minLimit + ", max=" + maxLimit);
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatencyNanos = targetLatencyNanos;
+            this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+            this.lastDecreaseAt = System.nanoTime() - targetLatencyNanos;
+        }
+        
+        boolean tryAcquire() {
+            while (true) {
+                int current = inflight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inflight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        
+        void release(long latencyNanos) {
+            int inflightBefore = inflight.getAndDecrement();
+            synchronized (this) {
+                if (latencyNanos > targetLatencyNanos) {
+                    long now = System.nanoTime();
+                    if (now - lastDecreaseAt >= targetLatencyNanos) {
+                        limit = Math.max(minLimit, (int) (limit * 0.9));
+                        lastDecreaseAt = now;
+                    }
+                } else if (inflightBefore * 2 >= limit && limit < maxLimit) {
+                    limit++;
+                }
+            }
+        }
+        
+        int getLimit() {
+            return limit;
+        }
+        
+        int getInflight() {
+            return inflight.get();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cctv.controlcenter.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * events 파티션 운영 시(EventPartitionManager) 스키마 자동 갱신 설정.
+ * 파티션 테이블은 기본 키가 (id, ts)라서 id만 참조하는 외래 키(alerts.event_id 등)를 걸 수 없으므로,
+ * 매핑의 외래 키는 그대로 두고 ddl-auto가 이를 다시 만들지 않도록 한다.
+ * 기존 외래 키는 EventPartitionManager가 테이블을 전환할 때 삭제한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cctv.events.partitioning.enabled", havingValue = "true")
+public class EventPartitionSchemaConfig {
+    
+    private static final String EVENTS_TABLE = "events";
+    
+    @Bean
+    public HibernatePropertiesCustomizer eventForeignKeyCustomizer() {
+        IntegratorProvider provider = () -> List.of(new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                    SessionFactoryImplementor sessionFactory) {
+                for (Table table : metadata.collectTableMappings()) {
+                    for (ForeignKey foreignKey : table.getForeignKeys().values()) {
+                        if (EVENTS_TABLE.equalsIgnoreCase(foreignKey.getReferencedTable().getName())) {
+                            foreignKey.disableCreation();
+                        }
+                    }
+                }
+            }
+            
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                    SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        });
+        return properties -> properties.put("hibernate.integrator_provider", provider);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cctv.controlcenter.config;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.JdkIdGenerator;
+
+import java.util.Locale;
+
+/**
+ * 이벤트/비디오 ID 생성기.
+ * 기본값 v7은 시간 순으로 증가하는 UUID를 생성하여 INSERT가 PK 인덱스의 끝에 모이도록 한다.
+ * random은 기존 방식(UUID v4)이다.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${cctv.ids.strategy:v7}") String strategy) {
+        log.info("ID 생성 전략: {}", strategy);
+        switch (strategy.toLowerCase(Locale.ROOT)) {
+            case "v7":
+                TimeBasedEpochGenerator generator = Generators.timeBasedEpochGenerator();
+                return generator::generate;
+            case "random":
+                return new JdkIdGenerator();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 ID 생성 전략입니다: " + strategy);
+        }
+    }
+}
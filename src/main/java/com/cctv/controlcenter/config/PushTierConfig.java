@@ -0,0 +1,50 @@
+package com.cctv.controlcenter.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
+
+/**
+ * 푸시 전용 계층(push 프로필) 설정.
+ * 클래스패스에 Tomcat도 있으므로 Netty 서버를 명시하고, 이벤트 루프에서 블로킹 JDBC가
+ * 실행되지 않도록 리액티브 스트림과 actuator만 허용한다.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PushTierConfig {
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    @Bean
+    public SecurityWebFilterChain pushTierFilterChain(ServerHttpSecurity http) {
+        http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            // 구독 연결마다 WebSession을 만들지 않음
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .requestCache(cache -> cache.requestCache(NoOpServerRequestCache.getInstance()))
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/events/stream/reactive", "/actuator/**").permitAll()
+                .anyExchange().denyAll()
+            )
+            // 이 계층에서 제공하지 않는 경로는 404로 응답
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.NOT_FOUND))
+            );
+        
+        return http.build();
+    }
+}
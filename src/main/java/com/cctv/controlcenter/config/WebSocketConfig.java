@@ -0,0 +1,26 @@
+package com.cctv.controlcenter.config;
+
+import com.cctv.controlcenter.push.EventSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebSocketConfig implements WebSocketConfigurer {
+    
+    private final EventSocketHandler eventSocketHandler;
+    
+    public WebSocketConfig(EventSocketHandler eventSocketHandler) {
+        this.eventSocketHandler = eventSocketHandler;
+    }
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(eventSocketHandler, "/api/events/ws")
+                .setAllowedOriginPatterns("*");
+    }
+}
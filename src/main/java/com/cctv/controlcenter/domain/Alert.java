@@ -19,6 +19,7 @@ public class Alert {
     @JoinColumn(name = "camera_id", nullable = false)
     private Camera camera;
     
+    // events를 파티션 테이블로 운영하면 외래 키는 만들지 않음 (EventPartitionSchemaConfig, EventPartitionManager 참고)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
@@ -3,17 +3,27 @@ package com.cctv.controlcenter.domain;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "events")
-public class Event {
-    
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_vehicle_count", columnList = "vehicle_count"),
+    // 목록 필터(EventSpecifications)용: 조건 컬럼 + ts 순서로 범위 조회와 ts 정렬을 인덱스로 처리
+    @Index(name = "idx_events_ts", columnList = "ts"),
+    @Index(name = "idx_events_camera_ts", columnList = "camera_id, ts"),
+    @Index(name = "idx_events_type_ts", columnList = "type, ts"),
+    @Index(name = "idx_events_severity_ts", columnList = "severity, ts")
+})
+public class Event implements Persistable<UUID> {
+    
+    // ID는 서비스에서 할당 (비동기 수집 시 커밋 전에 ID를 응답하기 위함, 기본 시간 순 UUID v7)
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,9 +48,31 @@ public class Event {
     @Column(nullable = false)
     private Double score;
     
-    @Column(name = "bbox_json", columnDefinition = "TEXT")
-    private String bboxJson;
+    // 바운딩 박스 (API의 bboxJson은 이 컬럼들로부터 계산)
+    @Column(name = "bbox_x")
+    private Integer bboxX;
+    
+    @Column(name = "bbox_y")
+    private Integer bboxY;
+    
+    @Column(name = "bbox_w")
+    private Integer bboxW;
+    
+    @Column(name = "bbox_h")
+    private Integer bboxH;
+    
+    // 통행량 이벤트 데이터 (API의 metaJson에 포함)
+    @Column(name = "vehicle_count")
+    private Integer vehicleCount;
     
+    @Column(length = 500)
+    private String message;
+    
+    // 이전 버전에서 저장된 바운딩 박스 JSON (읽기 전용, 좌표 컬럼이 없는 행에만 사용)
+    @Column(name = "bbox_json", columnDefinition = "TEXT", insertable = false, updatable = false)
+    private String legacyBboxJson;
+    
+    // 기타 메타데이터 (중복 탐지 합산 결과 등)
     @Column(name = "meta_json", columnDefinition = "TEXT")
     private String metaJson;
     
@@ -48,6 +80,10 @@ public class Event {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // 할당된 ID가 있어도 save() 시 merge(SELECT) 대신 persist 되도록 신규 여부를 직접 관리
+    @Transient
+    private boolean isNew = true;
+    
     // Constructors
     public Event() {}
     
@@ -73,12 +109,89 @@ public class Event {
     public Double getScore() { return score; }
     public void setScore(Double score) { this.score = score; }
     
-    public String getBboxJson() { return bboxJson; }
-    public void setBboxJson(String bboxJson) { this.bboxJson = bboxJson; }
+    @JsonIgnore
+    public Integer getBboxX() { return bboxX; }
+    public void setBboxX(Integer bboxX) { this.bboxX = bboxX; }
+    
+    @JsonIgnore
+    public Integer getBboxY() { return bboxY; }
+    public void setBboxY(Integer bboxY) { this.bboxY = bboxY; }
+    
+    @JsonIgnore
+    public Integer getBboxW() { return bboxW; }
+    public void setBboxW(Integer bboxW) { this.bboxW = bboxW; }
+    
+    @JsonIgnore
+    public Integer getBboxH() { return bboxH; }
+    public void setBboxH(Integer bboxH) { this.bboxH = bboxH; }
+    
+    public void setBoundingBox(Integer x, Integer y, Integer w, Integer h) {
+        this.bboxX = x;
+        this.bboxY = y;
+        this.bboxW = w;
+        this.bboxH = h;
+    }
+    
+    @JsonIgnore
+    public Integer getVehicleCount() { return vehicleCount; }
+    public void setVehicleCount(Integer vehicleCount) { this.vehicleCount = vehicleCount; }
+    
+    @JsonIgnore
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    /**
+     * 바운딩 박스 JSON ({"x":..,"y":..,"w":..,"h":..}). 기존 API 호환용으로 좌표 컬럼에서 계산한다.
+     */
+    public String getBboxJson() {
+        return bboxJson(bboxX, bboxY, bboxW, bboxH, legacyBboxJson);
+    }
+    
+    /**
+     * 메타 JSON. 통행량 이벤트는 vehicleCount/message 컬럼을 앞에 두고 저장된 메타데이터를 이어 붙인다.
+     */
+    public String getMetaJson() {
+        return metaJson(vehicleCount, message, metaJson);
+    }
+    
+    // 컬럼 값으로 API용 JSON 계산 (엔티티 없이 컬럼만 조회하는 DTO 프로젝션에서도 사용)
+    public static String bboxJson(Integer x, Integer y, Integer w, Integer h, String legacyBboxJson) {
+        if (x == null) {
+            return legacyBboxJson;
+        }
+        return "{\"x\":" + x + ",\"y\":" + y + ",\"w\":" + w + ",\"h\":" + h + "}";
+    }
+    
+    public static String metaJson(Integer vehicleCount, String message, String metaJson) {
+        if (vehicleCount == null && message == null) {
+            return metaJson;
+        }
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"vehicleCount\":").append(vehicleCount);
+        json.append(",\"message\":");
+        if (message == null) {
+            json.append("null");
+        } else {
+            json.append('"').append(JsonStringEncoder.getInstance().quoteAsString(message)).append('"');
+        }
+        if (metaJson != null && metaJson.startsWith("{") && metaJson.length() > 2) {
+            json.append(',').append(metaJson, 1, metaJson.length());
+        } else {
+            json.append('}');
+        }
+        return json.toString();
+    }
     
-    public String getMetaJson() { return metaJson; }
     public void setMetaJson(String metaJson) { this.metaJson = metaJson; }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+    
+    @PostPersist
+    @PostLoad
+    void markNotNew() { this.isNew = false; }
 }
@@ -0,0 +1,123 @@
+package com.cctv.controlcenter.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * 이벤트 집계 (분/시/일 단위 구간별 카메라/타입/심각도별 건수와 점수 합계/최댓값).
+ * 수집 경로에서 커밋된 이벤트를 모아 주기적으로 더하므로, 통계 조회는 이벤트 대신 이 행들만 읽는다.
+ */
+@Entity
+@Table(name = "event_rollups", indexes = {
+    @Index(name = "idx_event_rollups_bucket", columnList = "granularity, bucket_start")
+})
+public class EventRollup {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+    
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+    
+    @Column(name = "score_max", nullable = false)
+    private double scoreMax;
+    
+    // Constructors
+    public EventRollup() {}
+    
+    public EventRollup(Key id, long eventCount, double scoreSum, double scoreMax) {
+        this.id = id;
+        this.eventCount = eventCount;
+        this.scoreSum = scoreSum;
+        this.scoreMax = scoreMax;
+    }
+    
+    // Getters and Setters
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+    
+    public long getEventCount() { return eventCount; }
+    public void setEventCount(long eventCount) { this.eventCount = eventCount; }
+    
+    public double getScoreSum() { return scoreSum; }
+    public void setScoreSum(double scoreSum) { this.scoreSum = scoreSum; }
+    
+    public double getScoreMax() { return scoreMax; }
+    public void setScoreMax(double scoreMax) { this.scoreMax = scoreMax; }
+    
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+        
+        private final ChronoUnit unit;
+        
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+        
+        public ChronoUnit getUnit() { return unit; }
+        
+        // 구간 시작 시각 (ts가 속한 분/시/일의 시작)
+        public LocalDateTime truncate(LocalDateTime ts) {
+            return ts.truncatedTo(unit);
+        }
+    }
+    
+    @Embeddable
+    public static class Key implements Serializable {
+        
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 10)
+        private Granularity granularity;
+        
+        @Column(name = "bucket_start", nullable = false)
+        private LocalDateTime bucketStart;
+        
+        @Column(name = "camera_id", nullable = false, length = 50)
+        private String cameraId;
+        
+        @Column(nullable = false)
+        private String type;
+        
+        @Column(nullable = false)
+        private Integer severity;
+        
+        public Key() {}
+        
+        public Key(Granularity granularity, LocalDateTime bucketStart, String cameraId, String type, Integer severity) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+            this.cameraId = cameraId;
+            this.type = type;
+            this.severity = severity;
+        }
+        
+        public Granularity getGranularity() { return granularity; }
+        public LocalDateTime getBucketStart() { return bucketStart; }
+        public String getCameraId() { return cameraId; }
+        public String getType() { return type; }
+        public Integer getSeverity() { return severity; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return granularity == key.granularity && Objects.equals(bucketStart, key.bucketStart)
+                    && Objects.equals(cameraId, key.cameraId) && Objects.equals(type, key.type)
+                    && Objects.equals(severity, key.severity);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart, cameraId, type, severity);
+        }
+    }
+}
@@ -3,16 +3,18 @@ package com.cctv.controlcenter.domain;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "videos")
-public class Video {
+public class Video implements Persistable<UUID> {
     
+    // ID는 서비스에서 할당 (IdGenerator, 기본 시간 순 UUID v7)
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +50,10 @@ public class Video {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // 할당된 ID가 있어도 save() 시 merge(SELECT) 대신 persist 되도록 신규 여부를 직접 관리
+    @Transient
+    private boolean isNew = true;
+    
     // Constructors
     public Video() {}
     
@@ -87,4 +93,12 @@ public class Video {
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+    
+    @PostPersist
+    @PostLoad
+    void markNotNew() { this.isNew = false; }
 }
@@ -0,0 +1,57 @@
+package com.cctv.controlcenter.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관제 화면 카메라 타일의 최신 상태 (SSE 타일 스트림용).
+ * 삭제된 카메라는 removed=true와 cameraId만 담아 보낸다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CameraTileDTO {
+    
+    private final String cameraId;
+    private final String cameraName;
+    private final String status;
+    private final String lastEventType;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime lastEventTs;
+    
+    private final Integer lastSeverity;
+    private final Integer vehicleCount;
+    private final Boolean removed;
+    
+    public CameraTileDTO(String cameraId, String cameraName, String status, String lastEventType,
+            LocalDateTime lastEventTs, Integer lastSeverity, Integer vehicleCount) {
+        this(cameraId, cameraName, status, lastEventType, lastEventTs, lastSeverity, vehicleCount, null);
+    }
+    
+    private CameraTileDTO(String cameraId, String cameraName, String status, String lastEventType,
+            LocalDateTime lastEventTs, Integer lastSeverity, Integer vehicleCount, Boolean removed) {
+        this.cameraId = cameraId;
+        this.cameraName = cameraName;
+        this.status = status;
+        this.lastEventType = lastEventType;
+        this.lastEventTs = lastEventTs;
+        this.lastSeverity = lastSeverity;
+        this.vehicleCount = vehicleCount;
+        this.removed = removed;
+    }
+    
+    public static CameraTileDTO removed(String cameraId) {
+        return new CameraTileDTO(cameraId, null, null, null, null, null, null, true);
+    }
+    
+    // Getters
+    public String getCameraId() { return cameraId; }
+    public String getCameraName() { return cameraName; }
+    public String getStatus() { return status; }
+    public String getLastEventType() { return lastEventType; }
+    public LocalDateTime getLastEventTs() { return lastEventTs; }
+    public Integer getLastSeverity() { return lastSeverity; }
+    public Integer getVehicleCount() { return vehicleCount; }
+    public Boolean getRemoved() { return removed; }
+}
@@ -0,0 +1,43 @@
+package com.cctv.controlcenter.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 통계 한 구간. groupBy에 없는 항목(cameraId, type, severity)은 합산되어 빠진다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventStatsDTO {
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime bucketStart;
+    
+    private final String cameraId;
+    private final String type;
+    private final Integer severity;
+    private final long count;
+    private final double avgScore;
+    private final double maxScore;
+    
+    public EventStatsDTO(LocalDateTime bucketStart, String cameraId, String type, Integer severity,
+            long count, double scoreSum, double maxScore) {
+        this.bucketStart = bucketStart;
+        this.cameraId = cameraId;
+        this.type = type;
+        this.severity = severity;
+        this.count = count;
+        this.avgScore = count > 0 ? scoreSum / count : 0.0;
+        this.maxScore = maxScore;
+    }
+    
+    // Getters
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public String getCameraId() { return cameraId; }
+    public String getType() { return type; }
+    public Integer getSeverity() { return severity; }
+    public long getCount() { return count; }
+    public double getAvgScore() { return avgScore; }
+    public double getMaxScore() { return maxScore; }
+}
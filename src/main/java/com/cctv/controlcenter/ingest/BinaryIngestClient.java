@@ -0,0 +1,113 @@
+package com.cctv.controlcenter.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TCP 수집 채널용 Java 참조 클라이언트.
+ * 프레임은 내부 버퍼에 모았다가 {@link #flush()} 또는 버퍼가 찰 때 전송하며,
+ * 서버의 누적 ACK는 별도 스레드에서 읽어 {@link #awaitAck(long, long)}로 확인할 수 있다.
+ * ACK되지 않은 프레임은 연결이 끊긴 경우 재전송 대상이다.
+ * ACK는 거부된 프레임도 포함하므로 저장 여부는 알 수 없다 ({@link EventFrameCodec} 참고).
+ */
+public class BinaryIngestClient implements Closeable {
+    
+    private final SocketChannel channel;
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(64 * 1024);
+    private final Thread ackReader;
+    private final Object ackLock = new Object();
+    private long nextSeq = 1;
+    private long ackedSeq;
+    private volatile IOException failure;
+    
+    public BinaryIngestClient(String host, int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        this.channel.socket().setTcpNoDelay(true);
+        this.ackReader = new Thread(this::readAcks, "tcp-ingest-ack-reader");
+        this.ackReader.setDaemon(true);
+        this.ackReader.start();
+    }
+    
+    /**
+     * 이벤트 프레임을 버퍼에 추가하고 부여된 seq를 반환한다. bbox는 {x, y, w, h} 또는 null.
+     */
+    public synchronized long send(String cameraId, long tsMillis, String type, int severity, double score, int[] bbox)
+            throws IOException {
+        if (sendBuffer.remaining() < EventFrameCodec.MAX_FRAME_SIZE + EventFrameCodec.LENGTH_FIELD_SIZE) {
+            flush();
+        }
+        long seq = nextSeq++;
+        EventFrameCodec.encode(sendBuffer, seq, tsMillis, cameraId, type, severity, (float) score, bbox);
+        return seq;
+    }
+    
+    public synchronized void flush() throws IOException {
+        sendBuffer.flip();
+        while (sendBuffer.hasRemaining()) {
+            channel.write(sendBuffer);
+        }
+        sendBuffer.clear();
+    }
+    
+    /**
+     * 주어진 seq까지 ACK될 때까지 기다린다.
+     *
+     * @return 제한 시간 안에 ACK되었으면 true
+     */
+    public boolean awaitAck(long seq, long timeoutMillis) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (ackLock) {
+            while (ackedSeq < seq) {
+                if (failure != null) {
+                    throw failure;
+                }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                ackLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+    
+    public long getAckedSeq() {
+        synchronized (ackLock) {
+            return ackedSeq;
+        }
+    }
+    
+    private void readAcks() {
+        ByteBuffer ackBuffer = ByteBuffer.allocate(EventFrameCodec.ACK_FRAME_SIZE);
+        try {
+            while (true) {
+                if (channel.read(ackBuffer) < 0) {
+                    throw new IOException("서버가 연결을 종료했습니다");
+                }
+                if (!ackBuffer.hasRemaining()) {
+                    ackBuffer.flip();
+                    long seq = ackBuffer.getLong();
+                    ackBuffer.clear();
+                    synchronized (ackLock) {
+                        ackedSeq = Math.max(ackedSeq, seq);
+                        ackLock.notifyAll();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            synchronized (ackLock) {
+                failure = e;
+                ackLock.notifyAll();
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
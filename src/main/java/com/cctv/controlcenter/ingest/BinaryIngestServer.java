@@ -0,0 +1,324 @@
+package com.cctv.controlcenter.ingest;
+
+import com.cctv.controlcenter.api.dto.EventBatchResponse;
+import com.cctv.controlcenter.api.dto.EventCreateRequest;
+import com.cctv.controlcenter.service.EventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 탐지기용 TCP 이벤트 수집 채널.
+ * NIO 셀렉터 스레드 하나가 모든 연결을 읽고, 한 번의 읽기에서 디코딩된 프레임들을
+ * 워커 스레드에서 {@link EventService#createEvents(List)}로 일괄 저장한 뒤 누적 ACK를 보낸다.
+ * 같은 연결의 배치는 순서대로 처리되므로 ACK 번호는 항상 처리가 끝난 프레임까지만 가리킨다.
+ * 검증에 실패해 거부된 프레임(없는 카메라 등)은 재전송해도 결과가 같으므로 NACK 없이 누적 ACK에 포함되며,
+ * 서버 로그와 {@code cctv.ingest.tcp.rejected_frames} 지표로만 확인할 수 있다.
+ * 프레임 형식은 {@link EventFrameCodec} 참고.
+ */
+@Component
+public class BinaryIngestServer {
+    
+    private static final Logger log = LoggerFactory.getLogger(BinaryIngestServer.class);
+    
+    private final EventService eventService;
+    private final MeterRegistry meterRegistry;
+    // 프레임 시각(epoch millis)을 저장할 LocalDateTime으로 바꿀 기준 시간대 (API 응답과 같은 설정 값)
+    private final ZoneId zone;
+    
+    @Value("${cctv.ingest.tcp.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${cctv.ingest.tcp.port:9090}")
+    private int port;
+    
+    @Value("${cctv.ingest.tcp.worker-threads:4}")
+    private int workerThreads;
+    
+    // 연결별로 처리 대기 중인 배치가 이 수를 넘으면 해당 연결의 읽기를 멈춤
+    @Value("${cctv.ingest.tcp.max-inflight-batches:4}")
+    private int maxInflightBatches;
+    
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workers;
+    private Thread selectorThread;
+    private volatile boolean running;
+    
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Queue<Connection> pendingUpdates = new ConcurrentLinkedQueue<>();
+    
+    private final Counter framesCounter;
+    private final Counter failedBatchesCounter;
+    private final Counter rejectedFramesCounter;
+    
+    public BinaryIngestServer(EventService eventService, MeterRegistry meterRegistry,
+            @Value("${spring.jackson.time-zone:Asia/Seoul}") String timeZone) {
+        this.eventService = eventService;
+        this.meterRegistry = meterRegistry;
+        this.zone = ZoneId.of(timeZone);
+        this.framesCounter = Counter.builder("cctv.ingest.tcp.frames")
+                .description("수신한 이벤트 프레임 수")
+                .register(meterRegistry);
+        this.failedBatchesCounter = Counter.builder("cctv.ingest.tcp.failed_batches")
+                .description("저장에 실패하여 연결을 종료한 배치 수")
+                .register(meterRegistry);
+        this.rejectedFramesCounter = Counter.builder("cctv.ingest.tcp.rejected_frames")
+                .description("검증에 실패해 저장하지 않고 ACK한 프레임 수")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        
+        AtomicInteger workerIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "tcp-ingest-worker-" + workerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("cctv.ingest.tcp.connections", connections, Set::size)
+                .description("연결된 탐지기 수")
+                .register(meterRegistry);
+        
+        running = true;
+        selectorThread = new Thread(this::selectLoop, "tcp-ingest-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        log.info("TCP 이벤트 수집 채널 시작: 포트={}", port);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (selectorThread == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        log.info("TCP 이벤트 수집 채널 종료");
+    }
+    
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+                applyPendingUpdates();
+                
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.writeAck();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                log.error("TCP 수집 셀렉터 오류", e);
+            }
+        }
+        
+        connections.forEach(Connection::close);
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.debug("TCP 수집 채널 종료 중 오류", e);
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.add(connection);
+        log.info("탐지기 연결: {}", channel.getRemoteAddress());
+    }
+    
+    // 워커 스레드에서 요청한 ACK 전송/읽기 재개를 셀렉터 스레드에서 반영
+    private void applyPendingUpdates() {
+        Connection connection;
+        while ((connection = pendingUpdates.poll()) != null) {
+            if (!connection.key.isValid()) {
+                continue;
+            }
+            int ops = connection.key.interestOps();
+            if (connection.ackedSeq > connection.sentSeq) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            if (connection.inflight.get() < maxInflightBatches) {
+                ops |= SelectionKey.OP_READ;
+            }
+            connection.key.interestOps(ops);
+        }
+    }
+    
+    private class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(64 * 1024);
+        private final ByteBuffer ackBuffer = ByteBuffer.allocate(EventFrameCodec.ACK_FRAME_SIZE);
+        private final AtomicInteger inflight = new AtomicInteger();
+        private SelectionKey key;
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private volatile long ackedSeq = -1;
+        private long sentSeq = -1;
+        private volatile boolean closed;
+        
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            ackBuffer.flip();
+        }
+        
+        void read() {
+            List<EventFrameCodec.Frame> frames = new ArrayList<>();
+            try {
+                if (channel.read(readBuffer) < 0) {
+                    close();
+                    return;
+                }
+                readBuffer.flip();
+                EventFrameCodec.Frame frame;
+                while ((frame = EventFrameCodec.decode(readBuffer, zone)) != null) {
+                    frames.add(frame);
+                }
+                readBuffer.compact();
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("탐지기 연결 종료 (읽기 실패): {}", e.getMessage());
+                close();
+                return;
+            }
+            
+            if (frames.isEmpty()) {
+                return;
+            }
+            framesCounter.increment(frames.size());
+            
+            // 처리 대기 배치가 많으면 읽기를 멈춰 TCP 흐름 제어로 탐지기를 늦춤
+            if (inflight.incrementAndGet() >= maxInflightBatches) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+            tail = tail.thenRunAsync(() -> process(frames), workers);
+        }
+        
+        private void process(List<EventFrameCodec.Frame> frames) {
+            if (closed) {
+                return;
+            }
+            List<EventCreateRequest> requests = new ArrayList<>(frames.size());
+            for (EventFrameCodec.Frame frame : frames) {
+                requests.add(frame.request());
+            }
+            try {
+                EventBatchResponse response = eventService.createEvents(requests);
+                if (response.getFailed() > 0) {
+                    // 거부된 프레임은 재전송해도 다시 거부되므로 누적 ACK에 포함 (프로토콜 문서 참고)
+                    rejectedFramesCounter.increment(response.getFailed());
+                    response.getResults().stream()
+                            .filter(result -> !result.isSuccess())
+                            .forEach(result -> log.warn("TCP 수집 이벤트 거부: seq={}, 사유={}",
+                                    frames.get(result.getIndex()).seq(), result.getError()));
+                }
+                ackedSeq = frames.get(frames.size() - 1).seq();
+            } catch (Exception e) {
+                // 커밋되지 않은 프레임을 ACK하지 않도록 연결을 끊어 탐지기가 재전송하게 함
+                failedBatchesCounter.increment();
+                log.error("TCP 수집 배치 저장 실패: {}건", frames.size(), e);
+                close();
+                return;
+            } finally {
+                inflight.decrementAndGet();
+            }
+            pendingUpdates.add(this);
+            selector.wakeup();
+        }
+        
+        void writeAck() {
+            try {
+                if (!ackBuffer.hasRemaining()) {
+                    long seq = ackedSeq;
+                    if (seq <= sentSeq) {
+                        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    ackBuffer.clear();
+                    ackBuffer.putLong(seq);
+                    ackBuffer.flip();
+                    sentSeq = seq;
+                }
+                channel.write(ackBuffer);
+            } catch (IOException e) {
+                log.warn("탐지기 연결 종료 (ACK 전송 실패): {}", e.getMessage());
+                close();
+            }
+        }
+        
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connections.remove(this);
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("탐지기 소켓 닫기 실패", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.cctv.controlcenter.ingest;
+
+import com.cctv.controlcenter.api.dto.EventCreateRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * TCP 수집 채널의 바이너리 프레임 형식 (big-endian).
+ *
+ * <pre>
+ * 이벤트 프레임 (클라이언트 → 서버)
+ *   int32   length        이후 바이트 수
+ *   int64   seq           연결별로 단조 증가하는 프레임 번호
+ *   int64   ts            epoch millis
+ *   float32 score
+ *   uint8   severity
+ *   uint8   flags         bit0: 바운딩 박스 포함
+ *   uint8   cameraIdLen   + cameraId (UTF-8)
+ *   uint8   typeLen       + type (UTF-8)
+ *   int32   x, y, w, h    (flags bit0인 경우)
+ *
+ * ACK 프레임 (서버 → 클라이언트)
+ *   int64   seq           이 번호까지의 모든 프레임이 처리되었음
+ * </pre>
+ *
+ * <p>"처리됨"은 저장(커밋)되었거나 검증에 실패해 거부되었다는 뜻이다. 거부된 프레임에 대한 NACK는 없으며
+ * 재전송해도 같은 결과이므로 클라이언트는 ACK된 프레임을 다시 보내지 않는다.
+ * 저장 중 오류가 나면 서버는 ACK 없이 연결을 끊으므로, 마지막 ACK 이후의 프레임만 재전송하면 된다.
+ */
+public final class EventFrameCodec {
+    
+    public static final int LENGTH_FIELD_SIZE = 4;
+    public static final int ACK_FRAME_SIZE = 8;
+    public static final int MAX_FRAME_SIZE = 1024;
+    
+    private static final int FLAG_BBOX = 0x01;
+    private static final int FIXED_BODY_SIZE = 8 + 8 + 4 + 1 + 1 + 1 + 1;
+    
+    private EventFrameCodec() {}
+    
+    /**
+     * 버퍼에서 완전한 프레임 하나를 읽는다. 데이터가 부족하면 위치를 되돌리고 null을 반환한다.
+     *
+     * @throws IllegalArgumentException 프레임 길이나 내용이 올바르지 않은 경우
+     */
+    public static Frame decode(ByteBuffer buffer, ZoneId zone) {
+        if (buffer.remaining() < LENGTH_FIELD_SIZE) {
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt();
+        if (length < FIXED_BODY_SIZE || length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("잘못된 프레임 길이: " + length);
+        }
+        if (buffer.remaining() < length) {
+            buffer.position(start);
+            return null;
+        }
+        int end = buffer.position() + length;
+        
+        long seq = buffer.getLong();
+        long tsMillis = buffer.getLong();
+        float score = buffer.getFloat();
+        int severity = buffer.get() & 0xFF;
+        int flags = buffer.get() & 0xFF;
+        String cameraId = readString(buffer, end);
+        String type = readString(buffer, end);
+        
+        EventCreateRequest request = new EventCreateRequest();
+        request.setCameraId(cameraId);
+        request.setType(type);
+        request.setSeverity(severity);
+        request.setScore((double) score);
+        request.setTs(LocalDateTime.ofInstant(Instant.ofEpochMilli(tsMillis), zone));
+        
+        if ((flags & FLAG_BBOX) != 0) {
+            if (end - buffer.position() < 16) {
+                throw new IllegalArgumentException("바운딩 박스 데이터가 부족합니다");
+            }
+            EventCreateRequest.BoundingBox bbox = new EventCreateRequest.BoundingBox();
+            bbox.setX(buffer.getInt());
+            bbox.setY(buffer.getInt());
+            bbox.setW(buffer.getInt());
+            bbox.setH(buffer.getInt());
+            request.setBoundingBox(bbox);
+        }
+        
+        buffer.position(end);
+        return new Frame(seq, request);
+    }
+    
+    public static void encode(ByteBuffer buffer, long seq, long tsMillis, String cameraId, String type,
+            int severity, float score, int[] bbox) {
+        byte[] cameraIdBytes = cameraId.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+        if (cameraIdBytes.length > 255 || typeBytes.length > 255) {
+            throw new IllegalArgumentException("카메라 ID와 타입은 255바이트를 초과할 수 없습니다");
+        }
+        int length = FIXED_BODY_SIZE + cameraIdBytes.length + typeBytes.length + (bbox != null ? 16 : 0);
+        
+        buffer.putInt(length);
+        buffer.putLong(seq);
+        buffer.putLong(tsMillis);
+        buffer.putFloat(score);
+        buffer.put((byte) severity);
+        buffer.put((byte) (bbox != null ? FLAG_BBOX : 0));
+        buffer.put((byte) cameraIdBytes.length);
+        buffer.put(cameraIdBytes);
+        buffer.put((byte) typeBytes.length);
+        buffer.put(typeBytes);
+        if (bbox != null) {
+            for (int i = 0; i < 4; i++) {
+                buffer.putInt(bbox[i]);
+            }
+        }
+    }
+    
+    private static String readString(ByteBuffer buffer, int end) {
+        int length = buffer.get() & 0xFF;
+        if (end - buffer.position() < length) {
+            throw new IllegalArgumentException("문자열 길이가 프레임을 초과합니다");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+    
+    public record Frame(long seq, EventCreateRequest request) {}
+}
@@ -0,0 +1,274 @@
+package com.cctv.controlcenter.push;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * WebSocket 이벤트 푸시 채널의 바이너리 메시지 형식 (big-endian).
+ * 하나의 바이너리 메시지에는 레코드가 여러 개 이어서 들어갈 수 있다.
+ * 카메라와 이벤트 타입은 연결별 사전 번호로, 이벤트 시각은 같은 연결에서 직전 이벤트와의 차이로 보낸다.
+ *
+ * <pre>
+ * varint = unsigned LEB128, zigzag = 부호 있는 값을 zigzag 변환한 varint, string = varint 길이 + UTF-8
+ *
+ * 0x01 카메라 정의   varint index, string cameraId, string cameraName
+ * 0x02 타입 정의     varint index, string type
+ * 0x03 이벤트        varint 구독 수, varint 구독 ID..., int64 id(상위), int64 id(하위),
+ *                    varint 카메라 index, varint 타입 index, zigzag ts 차이(ms, 첫 이벤트는 0 기준),
+ *                    uint8 flags (bit0 severity, bit1 score, bit2 bbox, bit3 meta)
+ *                    [uint8 severity] [float32 score] [zigzag x, y, w, h] [string metaJson]
+ * 0x04 하트비트      (본문 없음)
+ * 0x05 사전 초기화   (본문 없음) 이후 사전 번호는 0부터 다시 정의된다
+ * </pre>
+ *
+ * 클라이언트 → 서버 제어 메시지는 텍스트(JSON)이며 {@link EventSocketHandler} 참고.
+ */
+public final class EventPushCodec {
+    
+    public static final int RECORD_CAMERA = 0x01;
+    public static final int RECORD_TYPE = 0x02;
+    public static final int RECORD_EVENT = 0x03;
+    public static final int RECORD_HEARTBEAT = 0x04;
+    public static final int RECORD_RESET = 0x05;
+    
+    // 사전이 이 크기를 넘으면 초기화 레코드를 보내고 다시 정의
+    public static final int MAX_DICTIONARY_SIZE = 4096;
+    
+    private static final int FLAG_SEVERITY = 0x01;
+    private static final int FLAG_SCORE = 0x02;
+    private static final int FLAG_BBOX = 0x04;
+    private static final int FLAG_META = 0x08;
+    
+    private EventPushCodec() {}
+    
+    /**
+     * 연결별 인코더. 사전과 직전 시각을 보관하므로 한 연결에서 한 스레드만 사용해야 한다.
+     */
+    public static final class Encoder {
+        private final Map<String, Integer> cameras = new HashMap<>();
+        private final Map<String, Integer> types = new HashMap<>();
+        private long lastTs;
+        
+        public void writeEvent(ByteArrayOutputStream out, List<Integer> subscriptionIds, PushEvent event) {
+            if (cameras.size() >= MAX_DICTIONARY_SIZE || types.size() >= MAX_DICTIONARY_SIZE) {
+                out.write(RECORD_RESET);
+                cameras.clear();
+                types.clear();
+            }
+            // 카메라 이름이 바뀌면 새 번호로 다시 정의
+            String cameraName = event.cameraName() != null ? event.cameraName() : "";
+            Integer cameraIndex = cameras.get(event.cameraId() + '\0' + cameraName);
+            if (cameraIndex == null) {
+                cameraIndex = cameras.size();
+                cameras.put(event.cameraId() + '\0' + cameraName, cameraIndex);
+                out.write(RECORD_CAMERA);
+                writeVarint(out, cameraIndex);
+                writeString(out, event.cameraId());
+                writeString(out, cameraName);
+            }
+            Integer typeIndex = types.get(event.type());
+            if (typeIndex == null) {
+                typeIndex = types.size();
+                types.put(event.type(), typeIndex);
+                out.write(RECORD_TYPE);
+                writeVarint(out, typeIndex);
+                writeString(out, event.type());
+            }
+            
+            out.write(RECORD_EVENT);
+            writeVarint(out, subscriptionIds.size());
+            for (int subscriptionId : subscriptionIds) {
+                writeVarint(out, subscriptionId);
+            }
+            writeLong(out, event.id().getMostSignificantBits());
+            writeLong(out, event.id().getLeastSignificantBits());
+            writeVarint(out, cameraIndex);
+            writeVarint(out, typeIndex);
+            writeZigzag(out, event.tsMillis() - lastTs);
+            lastTs = event.tsMillis();
+            
+            int flags = (event.severity() != null ? FLAG_SEVERITY : 0)
+                    | (event.score() != null ? FLAG_SCORE : 0)
+                    | (event.bbox() != null ? FLAG_BBOX : 0)
+                    | (event.metaJson() != null ? FLAG_META : 0);
+            out.write(flags);
+            if (event.severity() != null) {
+                out.write(event.severity());
+            }
+            if (event.score() != null) {
+                int bits = Float.floatToIntBits(event.score().floatValue());
+                out.write(bits >>> 24);
+                out.write(bits >>> 16);
+                out.write(bits >>> 8);
+                out.write(bits);
+            }
+            if (event.bbox() != null) {
+                for (int value : event.bbox()) {
+                    writeZigzag(out, value);
+                }
+            }
+            if (event.metaJson() != null) {
+                writeString(out, event.metaJson());
+            }
+        }
+        
+        public void writeHeartbeat(ByteArrayOutputStream out) {
+            out.write(RECORD_HEARTBEAT);
+        }
+    }
+    
+    /**
+     * 연결별 디코더 (클라이언트/테스트용). 메시지를 받은 순서대로 {@link #decode(ByteBuffer)}에 넘겨야 한다.
+     */
+    public static final class Decoder {
+        private final List<String[]> cameras = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private long lastTs;
+        
+        /**
+         * 메시지에 담긴 이벤트를 반환한다. 사전/하트비트 레코드는 상태에만 반영된다.
+         *
+         * @throws IllegalArgumentException 알 수 없는 레코드나 정의되지 않은 사전 번호인 경우
+         */
+        public List<DecodedEvent> decode(ByteBuffer buffer) {
+            List<DecodedEvent> events = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                int record = buffer.get() & 0xFF;
+                switch (record) {
+                    case RECORD_CAMERA:
+                        define(cameras, readVarint(buffer), new String[] {readString(buffer), readString(buffer)});
+                        break;
+                    case RECORD_TYPE:
+                        define(types, readVarint(buffer), readString(buffer));
+                        break;
+                    case RECORD_EVENT:
+                        events.add(readEvent(buffer));
+                        break;
+                    case RECORD_HEARTBEAT:
+                        break;
+                    case RECORD_RESET:
+                        cameras.clear();
+                        types.clear();
+                        break;
+                    default:
+                        throw new IllegalArgumentException("알 수 없는 레코드: " + record);
+                }
+            }
+            return events;
+        }
+        
+        private DecodedEvent readEvent(ByteBuffer buffer) {
+            int subscriptionCount = readVarint(buffer);
+            int[] subscriptionIds = new int[subscriptionCount];
+            for (int i = 0; i < subscriptionCount; i++) {
+                subscriptionIds[i] = readVarint(buffer);
+            }
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            String[] camera = lookup(cameras, readVarint(buffer));
+            String type = lookup(types, readVarint(buffer));
+            lastTs += readZigzag(buffer);
+            
+            int flags = buffer.get() & 0xFF;
+            Integer severity = (flags & FLAG_SEVERITY) != 0 ? buffer.get() & 0xFF : null;
+            Float score = (flags & FLAG_SCORE) != 0 ? buffer.getFloat() : null;
+            int[] bbox = null;
+            if ((flags & FLAG_BBOX) != 0) {
+                bbox = new int[4];
+                for (int i = 0; i < 4; i++) {
+                    bbox[i] = (int) readZigzag(buffer);
+                }
+            }
+            String metaJson = (flags & FLAG_META) != 0 ? readString(buffer) : null;
+            return new DecodedEvent(subscriptionIds, id, camera[0], camera[1].isEmpty() ? null : camera[1],
+                    type, lastTs, severity, score, bbox, metaJson);
+        }
+        
+        private static <T> void define(List<T> dictionary, int index, T value) {
+            if (index != dictionary.size()) {
+                throw new IllegalArgumentException("사전 번호가 순서에 맞지 않습니다: " + index);
+            }
+            dictionary.add(value);
+        }
+        
+        private static <T> T lookup(List<T> dictionary, int index) {
+            if (index >= dictionary.size()) {
+                throw new IllegalArgumentException("정의되지 않은 사전 번호: " + index);
+            }
+            return dictionary.get(index);
+        }
+    }
+    
+    /**
+     * 인코딩할 이벤트. 구독자 수와 관계없이 이벤트당 한 번 만든다.
+     */
+    public record PushEvent(UUID id, String cameraId, String cameraName, String type, long tsMillis,
+            Integer severity, Double score, int[] bbox, String metaJson) {}
+    
+    public record DecodedEvent(int[] subscriptionIds, UUID id, String cameraId, String cameraName, String type,
+            long tsMillis, Integer severity, Float score, int[] bbox, String metaJson) {}
+    
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static void writeZigzag(ByteArrayOutputStream out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+    
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+    
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+    
+    private static long readVarintLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint가 너무 깁니다");
+    }
+    
+    private static int readVarint(ByteBuffer buffer) {
+        long value = readVarintLong(buffer);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("varint 값이 범위를 벗어났습니다: " + value);
+        }
+        return (int) value;
+    }
+    
+    private static long readZigzag(ByteBuffer buffer) {
+        long value = readVarintLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("문자열 길이가 메시지를 초과합니다");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
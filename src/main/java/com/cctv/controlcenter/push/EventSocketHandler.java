@@ -0,0 +1,302 @@
+package com.cctv.controlcenter.push;
+
+import com.cctv.controlcenter.dto.EventDTO;
+import com.cctv.controlcenter.service.EventBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.ByteArrayOutputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 바이너리 WebSocket 이벤트 푸시 채널 (/api/events/ws).
+ * 한 연결에서 여러 구독을 텍스트 제어 메시지로 추가/해제하고, 이벤트는 {@link EventPushCodec} 형식으로
+ * 받는다. 여러 구독에 해당하는 이벤트는 구독 ID 목록과 함께 한 번만 보낸다.
+ *
+ * <pre>
+ * {"op":"subscribe","id":1,"cameraIds":["cam-001"],"types":["VEHICLE"],"minSeverity":0,"minScore":0}
+ * {"op":"unsubscribe","id":1}
+ * </pre>
+ *
+ * 전송은 SSE와 같이 연결별 제한 크기 큐와 디스패처 작업으로 처리하며, 큐가 넘친 연결은 끊는다.
+ * 디스패처는 큐에 쌓인 이벤트를 하나의 바이너리 메시지로 묶어 보낸다.
+ */
+@Component
+public class EventSocketHandler extends AbstractWebSocketHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventSocketHandler.class);
+    
+    // 하트비트 표시용 (큐에 이벤트와 함께 넣어 순서를 유지)
+    private static final EventPushCodec.PushEvent HEARTBEAT =
+            new EventPushCodec.PushEvent(null, null, null, null, 0, null, null, null, null);
+    
+    private final ObjectMapper objectMapper;
+    // 이벤트 시각(LocalDateTime)의 기준 시간대. JVM 기본 시간대는 TimeZoneConfig가 바꾸기 전에 읽힐 수 있으므로
+    // API 응답(Jackson)과 같은 설정 값을 사용
+    private final ZoneId zone;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final Counter evictedCounter;
+    private final Counter bytesCounter;
+    
+    @Value("${cctv.events.ws.queue-capacity:1024}")
+    private int queueCapacity;
+    
+    @Value("${cctv.events.ws.max-subscriptions:16}")
+    private int maxSubscriptions;
+    
+    @Value("${cctv.events.ws.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    
+    @Value("${cctv.events.ws.send-buffer-limit-bytes:1048576}")
+    private int sendBufferLimitBytes;
+    
+    public EventSocketHandler(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${spring.jackson.time-zone:Asia/Seoul}") String timeZone) {
+        this.objectMapper = objectMapper;
+        this.zone = ZoneId.of(timeZone);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ws-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictedCounter = Counter.builder("cctv.events.ws.evicted")
+                .description("전송 큐가 넘치거나 전송에 실패하여 끊은 WebSocket 연결 수")
+                .register(meterRegistry);
+        this.bytesCounter = Counter.builder("cctv.events.ws.sent_bytes")
+                .description("WebSocket으로 보낸 이벤트 메시지 바이트 수")
+                .register(meterRegistry);
+        Gauge.builder("cctv.events.ws.connections", connections, Map::size)
+                .description("WebSocket 이벤트 채널 연결 수")
+                .register(meterRegistry);
+    }
+    
+    public boolean hasConnections() {
+        return !connections.isEmpty();
+    }
+    
+    /**
+     * 커밋된 이벤트를 구독이 있는 연결의 큐에 넣는다. 구독 조건 확인과 인코딩은 디스패처에서 수행한다.
+     */
+    public void publish(EventDTO dto, int[] bbox) {
+        EventPushCodec.PushEvent pushEvent = toPushEvent(dto, bbox);
+        for (Connection connection : connections.values()) {
+            if (!connection.subscriptions.isEmpty()) {
+                connection.offer(pushEvent);
+            }
+        }
+    }
+    
+    EventPushCodec.PushEvent toPushEvent(EventDTO dto, int[] bbox) {
+        return new EventPushCodec.PushEvent(dto.getId(), dto.getCameraId(), dto.getCameraName(), dto.getType(),
+                dto.getTs().atZone(zone).toInstant().toEpochMilli(), dto.getSeverity(), dto.getScore(), bbox,
+                dto.getMetaJson());
+    }
+    
+    public void sendHeartbeat() {
+        for (Connection connection : connections.values()) {
+            connection.offer(HEARTBEAT);
+        }
+    }
+    
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // 제어 응답(텍스트)과 이벤트(바이너리)가 서로 다른 스레드에서 전송되므로 전송을 직렬화
+        Connection connection = new Connection(new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, sendBufferLimitBytes));
+        connections.put(session.getId(), connection);
+        log.info("WebSocket 이벤트 채널 연결: {}, 현재 연결 수 = {}", session.getRemoteAddress(), connections.size());
+    }
+    
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        JsonNode request = objectMapper.readTree(message.getPayload());
+        String op = request.path("op").asText();
+        int id = request.path("id").asInt(-1);
+        try {
+            if (id < 0) {
+                throw new IllegalArgumentException("구독 ID가 필요합니다");
+            }
+            switch (op) {
+                case "subscribe":
+                    if (!connection.subscriptions.containsKey(id) && connection.subscriptions.size() >= maxSubscriptions) {
+                        throw new IllegalArgumentException("연결당 구독 수는 " + maxSubscriptions + "개를 초과할 수 없습니다");
+                    }
+                    connection.subscriptions.put(id, new EventBroadcaster.SubscriptionFilter(
+                            stringSet(request.path("cameraIds")), stringSet(request.path("types")),
+                            request.path("minSeverity").asInt(0), request.path("minScore").asDouble(0.0)));
+                    reply(connection, "subscribed", id, null);
+                    break;
+                case "unsubscribe":
+                    connection.subscriptions.remove(id);
+                    reply(connection, "unsubscribed", id, null);
+                    break;
+                default:
+                    throw new IllegalArgumentException("지원하지 않는 요청입니다: " + op);
+            }
+        } catch (IllegalArgumentException e) {
+            reply(connection, "error", id, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket 전송 오류: {}", exception.getMessage());
+    }
+    
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            connection.closed.set(true);
+            connection.queue.clear();
+        }
+        log.info("WebSocket 이벤트 채널 연결 종료: {}, 현재 연결 수 = {}", status, connections.size());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(connection -> connection.close(CloseStatus.GOING_AWAY));
+        dispatcher.shutdown();
+    }
+    
+    private void reply(Connection connection, String op, int id, String error) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("op", op);
+        body.put("id", id);
+        if (error != null) {
+            body.put("error", error);
+        }
+        connection.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(body)));
+    }
+    
+    private static Set<String> stringSet(JsonNode node) {
+        if (!node.isArray()) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        node.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+    
+    private void evict(Connection connection, String reason) {
+        if (connection.close(CloseStatus.POLICY_VIOLATION.withReason(reason))) {
+            evictedCounter.increment();
+            log.warn("WebSocket 연결 종료 ({}): 현재 연결 수 = {}", reason, connections.size());
+        }
+    }
+    
+    private class Connection {
+        private final WebSocketSession session;
+        private final Map<Integer, EventBroadcaster.SubscriptionFilter> subscriptions = new ConcurrentHashMap<>();
+        private final BlockingQueue<EventPushCodec.PushEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final EventPushCodec.Encoder encoder = new EventPushCodec.Encoder();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        Connection(WebSocketSession session) {
+            this.session = session;
+        }
+        
+        void offer(EventPushCodec.PushEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evict(this, "전송 큐 초과");
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            do {
+                while (!closed.get() && !queue.isEmpty()) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+                    EventPushCodec.PushEvent event;
+                    while (out.size() < 64 * 1024 && (event = queue.poll()) != null) {
+                        encode(out, event);
+                    }
+                    if (out.size() == 0) {
+                        continue;
+                    }
+                    try {
+                        session.sendMessage(new BinaryMessage(out.toByteArray()));
+                        bytesCounter.increment(out.size());
+                    } catch (Exception e) {
+                        evict(this, "전송 실패");
+                        return;
+                    }
+                }
+                scheduled.set(false);
+                // 플래그를 내린 사이에 들어온 이벤트가 있으면 이어서 처리
+            } while (!closed.get() && !queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+        
+        private void encode(ByteArrayOutputStream out, EventPushCodec.PushEvent event) {
+            if (event == HEARTBEAT) {
+                encoder.writeHeartbeat(out);
+                return;
+            }
+            List<Integer> matched = new ArrayList<>(1);
+            for (Map.Entry<Integer, EventBroadcaster.SubscriptionFilter> entry : subscriptions.entrySet()) {
+                if (entry.getValue().matches(event.cameraId(), event.type(), event.severity(), event.score())) {
+                    matched.add(entry.getKey());
+                }
+            }
+            if (!matched.isEmpty()) {
+                encoder.writeEvent(out, matched, event);
+            }
+        }
+        
+        boolean close(CloseStatus status) {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            connections.remove(session.getId());
+            queue.clear();
+            dispatcher.execute(() -> {
+                try {
+                    session.close(status);
+                } catch (Exception e) {
+                    log.debug("WebSocket 연결 종료 중 오류", e);
+                }
+            });
+            return true;
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.cctv.controlcenter.repository;
 import com.cctv.controlcenter.domain.Camera;
 import com.cctv.controlcenter.domain.Camera.CameraStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,4 +24,18 @@ public interface CameraRepository extends JpaRepository<Camera, String> {
     List<Camera> findUserCamerasOrdered(@Param("userId") UUID userId);
     
     boolean existsByIdAndUserId(String id, UUID userId);
+    
+    @Query("SELECT c.id FROM Camera c WHERE c.id IN :ids AND c.status = :status")
+    List<String> findIdsByIdInAndStatus(@Param("ids") Collection<String> ids, @Param("status") CameraStatus status);
+    
+    // 상태가 실제로 바뀌는 경우에만 UPDATE (이미 같은 상태면 0 반환)
+    @Modifying
+    @Query("UPDATE Camera c SET c.status = :status, c.updatedAt = :now WHERE c.id = :id AND c.status <> :status")
+    int updateStatusIfChanged(@Param("id") String id, @Param("status") CameraStatus status, @Param("now") LocalDateTime now);
+    
+    // 현재 상태가 from인 카메라만 to로 변경
+    @Modifying
+    @Query("UPDATE Camera c SET c.status = :to, c.updatedAt = :now WHERE c.id IN :ids AND c.status = :from")
+    int updateStatusIfCurrent(@Param("ids") Collection<String> ids, @Param("from") CameraStatus from,
+            @Param("to") CameraStatus to, @Param("now") LocalDateTime now);
 }
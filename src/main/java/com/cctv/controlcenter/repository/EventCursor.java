@@ -0,0 +1,36 @@
+package com.cctv.controlcenter.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 키셋 페이지네이션 커서. 마지막으로 반환한 이벤트의 (ts, id)이며 클라이언트에는 불투명한 문자열로 전달한다.
+ * 목록 정렬(ts, id 내림차순)과 같은 순서로 이 위치 다음부터 조회한다.
+ */
+public record EventCursor(LocalDateTime ts, UUID id) {
+    
+    public String encode() {
+        String raw = ts + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException 이 클래스가 만든 커서가 아닌 경우
+     */
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.cctv.controlcenter.domain.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +15,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
     
     List<Event> findByCameraIdOrderByTsDesc(String cameraId);
     
@@ -29,14 +31,9 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     @Query("SELECT e FROM Event e WHERE e.camera.id IN :cameraIds ORDER BY e.ts DESC")
     Page<Event> findByCameraIdsOrdered(@Param("cameraIds") List<String> cameraIds, Pageable pageable);
     
-    // Spring Data JPA Method Query 사용 (타입 안전)
-    Page<Event> findByCameraIdAndSeverityGreaterThanEqualOrderByTsDesc(String cameraId, int severity, Pageable pageable);
+    // 목록 필터 조회는 JpaSpecificationExecutor + EventSpecifications 사용
     
-    Page<Event> findBySeverityGreaterThanEqualOrderByTsDesc(int severity, Pageable pageable);
-    
-    Page<Event> findByCameraIdAndTypeAndSeverityGreaterThanEqualOrderByTsDesc(String cameraId, String type, int severity, Pageable pageable);
-    
-    Page<Event> findByTypeAndSeverityGreaterThanEqualOrderByTsDesc(String type, int severity, Pageable pageable);
-    
-    // 사용하지 않는 메서드 제거 (Spring Data JPA Method Query 사용)
+    @Modifying
+    @Query("UPDATE Event e SET e.metaJson = :metaJson WHERE e.id = :id")
+    int updateMetaJson(@Param("id") UUID id, @Param("metaJson") String metaJson);
 }
@@ -0,0 +1,54 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.dto.EventDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 파생 쿼리로 표현하기 어려운 이벤트 조회 (EventRepositoryImpl에서 구현).
+ */
+public interface EventRepositoryCustom {
+    
+    /**
+     * 목록 조회용 DTO 페이지. events와 cameras를 조인한 하나의 쿼리로 카메라 이름까지 읽는다
+     * (엔티티를 만들지 않으므로 카메라 지연 로딩 쿼리가 없음). 전체 건수는 필요할 때만 별도로 센다.
+     */
+    Page<EventDTO> findDtoPage(Specification<Event> spec, Pageable pageable);
+    
+    /**
+     * 건수 쿼리 없이 DTO 한 페이지를 조회한다. size+1건을 읽어 다음 페이지 존재 여부를 판단한다.
+     */
+    Slice<EventDTO> findDtoSlice(Specification<Event> spec, Pageable pageable);
+    
+    /**
+     * 정렬 순서로 앞에서부터 limit건의 DTO를 조회한다 (키셋 조회용).
+     */
+    List<EventDTO> findDtoList(Specification<Event> spec, Sort sort, int limit);
+    
+    /**
+     * 정렬 순서로 전체 결과를 순방향 커서로 읽는다. fetchSize건씩 가져오며 엔티티를 만들지 않으므로
+     * 결과 크기와 관계없이 메모리 사용량이 일정하다. 트랜잭션 안에서 호출하고 다 읽은 뒤 닫아야 한다
+     * (PostgreSQL은 자동 커밋이 꺼져 있어야 fetchSize 단위로 읽음).
+     */
+    Stream<EventDTO> streamDtos(Specification<Event> spec, Sort sort, int fetchSize);
+    
+    /**
+     * 목록 필터의 건수를 추정한다. threshold 이하이면 정확한 건수를, 넘으면 PostgreSQL 플래너 통계의
+     * 예상 행 수(다른 DB는 threshold + 1)를 반환한다. threshold + 1건까지만 읽으므로 비용이 건수에 비례하지 않는다.
+     */
+    CountEstimate estimateCount(String cameraId, String type, int minSeverity,
+            LocalDateTime from, LocalDateTime to, int threshold);
+    
+    /**
+     * @param exact false이면 count는 threshold를 넘는 추정값
+     */
+    record CountEstimate(long count, boolean exact) {}
+}
@@ -0,0 +1,213 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.Camera;
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.dto.EventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class EventRepositoryImpl implements EventRepositoryCustom {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventRepositoryImpl.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ObjectMapper objectMapper;
+    private volatile Boolean postgres;
+    
+    EventRepositoryImpl(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public Page<EventDTO> findDtoPage(Specification<Event> spec, Pageable pageable) {
+        List<EventDTO> content = selectDtos(spec, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize());
+        // 첫/마지막 페이지처럼 건수를 알 수 있으면 COUNT 쿼리 생략
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+    
+    @Override
+    public Slice<EventDTO> findDtoSlice(Specification<Event> spec, Pageable pageable) {
+        List<EventDTO> rows = selectDtos(spec, pageable.getSort(), (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+    
+    @Override
+    public List<EventDTO> findDtoList(Specification<Event> spec, Sort sort, int limit) {
+        return selectDtos(spec, sort, 0, limit);
+    }
+    
+    @Override
+    public Stream<EventDTO> streamDtos(Specification<Event> spec, Sort sort, int fetchSize) {
+        return entityManager.createQuery(dtoQuery(spec, sort))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .map(EventRepositoryImpl::toDto);
+    }
+    
+    private List<EventDTO> selectDtos(Specification<Event> spec, Sort sort, int offset, int limit) {
+        List<Tuple> rows = entityManager.createQuery(dtoQuery(spec, sort))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        List<EventDTO> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(toDto(row));
+        }
+        return result;
+    }
+    
+    // EventDTO에 필요한 컬럼만 events ⋈ cameras 한 번의 SELECT로 조회
+    private CriteriaQuery<Tuple> dtoQuery(Specification<Event> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Camera> camera = root.join("camera");
+        query.multiselect(
+                root.get("id"), camera.get("id"), camera.get("name"), root.get("ts"), root.get("type"),
+                root.get("severity"), root.get("score"),
+                root.get("bboxX"), root.get("bboxY"), root.get("bboxW"), root.get("bboxH"), root.get("legacyBboxJson"),
+                root.get("vehicleCount"), root.get("message"), root.get("metaJson"), root.get("createdAt"));
+        applyFilter(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+    
+    private static EventDTO toDto(Tuple row) {
+        EventDTO dto = new EventDTO();
+        dto.setId(row.get(0, UUID.class));
+        dto.setCameraId(row.get(1, String.class));
+        dto.setCameraName(row.get(2, String.class));
+        dto.setTs(row.get(3, LocalDateTime.class));
+        dto.setType(row.get(4, String.class));
+        dto.setSeverity(row.get(5, Integer.class));
+        dto.setScore(row.get(6, Double.class));
+        dto.setBboxJson(Event.bboxJson(row.get(7, Integer.class), row.get(8, Integer.class),
+                row.get(9, Integer.class), row.get(10, Integer.class), row.get(11, String.class)));
+        dto.setMetaJson(Event.metaJson(row.get(12, Integer.class), row.get(13, String.class), row.get(14, String.class)));
+        dto.setCreatedAt(row.get(15, LocalDateTime.class));
+        return dto;
+    }
+    
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        applyFilter(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    // 필터가 하나도 없으면 조건식이 null
+    private static void applyFilter(Specification<Event> spec, Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+    
+    @Override
+    public CountEstimate estimateCount(String cameraId, String type, int minSeverity,
+            LocalDateTime from, LocalDateTime to, int threshold) {
+        // threshold + 1건까지만 id를 읽어 그 이하이면 정확한 건수로 사용
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(root.get("id"));
+        applyFilter(EventSpecifications.filter(cameraId, type, minSeverity, from, to), root, query, cb);
+        int found = entityManager.createQuery(query).setMaxResults(threshold + 1).getResultList().size();
+        if (found <= threshold) {
+            return new CountEstimate(found, true);
+        }
+        if (!isPostgres()) {
+            return new CountEstimate(threshold + 1L, false);
+        }
+        long planned = plannedRows(cameraId, type, minSeverity, from, to);
+        return new CountEstimate(Math.max(planned, threshold + 1L), false);
+    }
+    
+    // EXPLAIN으로 플래너 통계 기반 예상 행 수를 읽음 (쿼리는 실행되지 않음)
+    private long plannedRows(String cameraId, String type, int minSeverity, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM events WHERE true");
+        List<Object> params = new ArrayList<>();
+        if (cameraId != null && !cameraId.isEmpty()) {
+            sql.append(" AND camera_id = ?");
+            params.add(cameraId);
+        }
+        if (type != null && !type.isEmpty()) {
+            sql.append(" AND type = ?");
+            params.add(type);
+        }
+        if (minSeverity > 0) {
+            sql.append(" AND severity >= ?");
+            params.add(minSeverity);
+        }
+        if (from != null) {
+            sql.append(" AND ts >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ts < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    JsonNode plan = objectMapper.readTree(rs.getString(1)).path(0).path("Plan");
+                    return plan.path("Plan Rows").asLong();
+                } catch (JsonProcessingException e) {
+                    log.warn("실행 계획 파싱 실패: {}", e.getMessage());
+                    return 0L;
+                }
+            }
+        });
+    }
+    
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = entityManager.unwrap(Session.class).doReturningWork(
+                    connection -> connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgresql"));
+            postgres = result;
+        }
+        return result;
+    }
+}
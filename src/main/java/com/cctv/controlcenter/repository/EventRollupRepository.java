@@ -0,0 +1,9 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.EventRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, EventRollup.Key>, EventRollupRepositoryCustom {
+}
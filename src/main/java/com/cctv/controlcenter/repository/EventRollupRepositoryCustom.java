@@ -0,0 +1,26 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.EventRollup;
+import com.cctv.controlcenter.dto.EventStatsDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 집계 행 누적/조회 (EventRollupRepositoryImpl에서 구현).
+ */
+public interface EventRollupRepositoryCustom {
+    
+    /**
+     * 각 항목의 건수/점수 합계를 같은 키의 행에 더하고 최댓값을 갱신한다. 행이 없으면 새로 만든다.
+     * 여러 노드가 같은 키에 동시에 더해도 값이 유실되지 않는다.
+     */
+    void addAll(Collection<EventRollup> deltas);
+    
+    /**
+     * [from, to) 구간의 집계 행을 구간 시작 시각과 요청한 항목별로 합산한다. cameraId/type이 null이면 전체.
+     */
+    List<EventStatsDTO> aggregate(EventRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+            String cameraId, String type, boolean byCamera, boolean byType, boolean bySeverity);
+}
@@ -0,0 +1,143 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.EventRollup;
+import com.cctv.controlcenter.dto.EventStatsDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+class EventRollupRepositoryImpl implements EventRollupRepositoryCustom {
+    
+    // 동시에 들어온 같은 키의 INSERT도 한쪽이 UPDATE로 바뀌어 합산됨
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO event_rollups (granularity, bucket_start, camera_id, type, severity, event_count, score_sum, score_max) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (granularity, bucket_start, camera_id, type, severity) DO UPDATE SET "
+            + "event_count = event_rollups.event_count + EXCLUDED.event_count, "
+            + "score_sum = event_rollups.score_sum + EXCLUDED.score_sum, "
+            + "score_max = GREATEST(event_rollups.score_max, EXCLUDED.score_max)";
+    
+    // 그 외(H2 등)는 표준 MERGE 사용
+    private static final String MERGE_UPSERT =
+            "MERGE INTO event_rollups t USING (VALUES (?, ?, ?, ?, ?, ?, ?, ?)) "
+            + "s (granularity, bucket_start, camera_id, type, severity, event_count, score_sum, score_max) "
+            + "ON t.granularity = s.granularity AND t.bucket_start = s.bucket_start AND t.camera_id = s.camera_id "
+            + "AND t.type = s.type AND t.severity = s.severity "
+            + "WHEN MATCHED THEN UPDATE SET event_count = t.event_count + s.event_count, "
+            + "score_sum = t.score_sum + s.score_sum, score_max = GREATEST(t.score_max, s.score_max) "
+            + "WHEN NOT MATCHED THEN INSERT (granularity, bucket_start, camera_id, type, severity, event_count, score_sum, score_max) "
+            + "VALUES (s.granularity, s.bucket_start, s.camera_id, s.type, s.severity, s.event_count, s.score_sum, s.score_max)";
+    
+    // 노드 간 교착을 피하도록 항상 같은 키 순서로 갱신
+    private static final Comparator<EventRollup> KEY_ORDER = Comparator
+            .comparing((EventRollup rollup) -> rollup.getId().getGranularity())
+            .thenComparing(rollup -> rollup.getId().getBucketStart())
+            .thenComparing(rollup -> rollup.getId().getCameraId())
+            .thenComparing(rollup -> rollup.getId().getType())
+            .thenComparing(rollup -> rollup.getId().getSeverity());
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private volatile Boolean postgres;
+    
+    @Override
+    public void addAll(Collection<EventRollup> deltas) {
+        List<EventRollup> sorted = new ArrayList<>(deltas);
+        sorted.sort(KEY_ORDER);
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            if (postgres == null) {
+                postgres = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgresql");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(postgres ? POSTGRES_UPSERT : MERGE_UPSERT)) {
+                for (EventRollup delta : sorted) {
+                    EventRollup.Key key = delta.getId();
+                    statement.setString(1, key.getGranularity().name());
+                    statement.setTimestamp(2, Timestamp.valueOf(key.getBucketStart()));
+                    statement.setString(3, key.getCameraId());
+                    statement.setString(4, key.getType());
+                    statement.setInt(5, key.getSeverity());
+                    statement.setLong(6, delta.getEventCount());
+                    statement.setDouble(7, delta.getScoreSum());
+                    statement.setDouble(8, delta.getScoreMax());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+    
+    @Override
+    public List<EventStatsDTO> aggregate(EventRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+            String cameraId, String type, boolean byCamera, boolean byType, boolean bySeverity) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<EventRollup> root = query.from(EventRollup.class);
+        Path<EventRollup.Key> key = root.get("id");
+        
+        Path<LocalDateTime> bucketStart = key.get("bucketStart");
+        Path<String> camera = key.get("cameraId");
+        Path<String> eventType = key.get("type");
+        Path<Integer> severity = key.get("severity");
+        
+        List<Expression<?>> groups = new ArrayList<>();
+        groups.add(bucketStart);
+        if (byCamera) {
+            groups.add(camera);
+        }
+        if (byType) {
+            groups.add(eventType);
+        }
+        if (bySeverity) {
+            groups.add(severity);
+        }
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.sum(root.<Long>get("eventCount")));
+        selections.add(cb.sum(root.<Double>get("scoreSum")));
+        selections.add(cb.max(root.<Double>get("scoreMax")));
+        query.multiselect(selections);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(key.get("granularity"), granularity));
+        predicates.add(cb.greaterThanOrEqualTo(bucketStart, from));
+        predicates.add(cb.lessThan(bucketStart, to));
+        if (cameraId != null && !cameraId.isEmpty()) {
+            predicates.add(cb.equal(camera, cameraId));
+        }
+        if (type != null && !type.isEmpty()) {
+            predicates.add(cb.equal(eventType, type));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.groupBy(groups);
+        query.orderBy(groups.stream().map(cb::asc).toList());
+        
+        List<EventStatsDTO> result = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            int column = 1;
+            String rowCamera = byCamera ? row.get(column++, String.class) : null;
+            String rowType = byType ? row.get(column++, String.class) : null;
+            Integer rowSeverity = bySeverity ? row.get(column++, Integer.class) : null;
+            result.add(new EventStatsDTO(row.get(0, LocalDateTime.class), rowCamera, rowType, rowSeverity,
+                    row.get(column, Long.class), row.get(column + 1, Double.class), row.get(column + 2, Double.class)));
+        }
+        return result;
+    }
+}
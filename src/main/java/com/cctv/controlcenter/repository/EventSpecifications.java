@@ -0,0 +1,78 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 목록 필터 조건. 값이 없는 조건은 null을 반환하여 where 절에서 빠진다.
+ * 각 조건은 events의 (camera_id, ts), (type, ts), (severity, ts), (ts) 인덱스로 처리된다.
+ */
+public final class EventSpecifications {
+    
+    private EventSpecifications() {}
+    
+    /**
+     * 목록 조회 필터를 하나의 조건으로 합친다. 시간 범위는 [from, to) 이다.
+     */
+    public static Specification<Event> filter(String cameraId, String type, int minSeverity,
+            LocalDateTime from, LocalDateTime to) {
+        return Specification.where(cameraId(cameraId))
+                .and(type(type))
+                .and(minSeverity(minSeverity))
+                .and(tsFrom(from))
+                .and(tsBefore(to));
+    }
+    
+    // camera.id는 외래 키 컬럼이므로 cameras 조인 없이 비교
+    public static Specification<Event> cameraId(String cameraId) {
+        if (cameraId == null || cameraId.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("camera").get("id"), cameraId);
+    }
+    
+    public static Specification<Event> type(String type) {
+        if (type == null || type.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+    
+    // 심각도는 0 이상이므로 0이면 조건을 넣지 않음
+    public static Specification<Event> minSeverity(int minSeverity) {
+        if (minSeverity <= 0) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("severity"), minSeverity);
+    }
+    
+    public static Specification<Event> tsFrom(LocalDateTime from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("ts"), from);
+    }
+    
+    public static Specification<Event> tsBefore(LocalDateTime to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("ts"), to);
+    }
+    
+    /**
+     * 키셋 조건: 정렬(ts, id 내림차순)에서 커서 다음 행. ts <= 커서 시각을 따로 두어 ts 인덱스 범위로 처리되게 한다.
+     */
+    public static Specification<Event> after(EventCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("ts"), cursor.ts()),
+                cb.or(
+                        cb.lessThan(root.get("ts"), cursor.ts()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,188 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.domain.Camera;
+import com.cctv.controlcenter.repository.CameraRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 이벤트 수집 경로용 카메라 참조 캐시.
+ * 존재가 확인된 카메라 ID를 LRU로 보관하고, 캐시 적중 시 SELECT 없이
+ * 영속성 컨텍스트의 참조(프록시)를 반환한다.
+ * 카메라 생성/수정/삭제/상태 변경 시 {@link #invalidate(String)}로 무효화해야 한다.
+ */
+@Component
+public class CameraRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(CameraRegistry.class);
+    
+    private final CameraRepository cameraRepository;
+    private final Map<String, CameraSnapshot> cache;
+    private final long expireAfterNanos;
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+    private volatile Consumer<String> clusterPublisher = cameraId -> {};
+    
+    public CameraRegistry(CameraRepository cameraRepository,
+            @Value("${cctv.cameras.cache.max-size:1000}") int maxSize,
+            @Value("${cctv.cameras.cache.expire-after-ms:300000}") long expireAfterMs) {
+        this.cameraRepository = cameraRepository;
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterMs);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CameraSnapshot> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    /**
+     * 카메라 참조를 반환한다. 캐시에 없으면 DB에서 조회하여 존재 여부를 확인한다.
+     */
+    public Camera getReference(String cameraId) {
+        if (lookup(cameraId) != null) {
+            return cameraRepository.getReferenceById(cameraId);
+        }
+        
+        Camera camera = cameraRepository.findById(cameraId)
+                .orElseThrow(() -> new IllegalArgumentException("카메라를 찾을 수 없습니다: " + cameraId));
+        put(camera);
+        return camera;
+    }
+    
+    /**
+     * 여러 카메라 참조를 반환한다. 캐시에 없는 카메라만 한 번의 IN 쿼리로 조회하며,
+     * 존재하지 않는 카메라는 결과에서 제외된다.
+     */
+    public Map<String, Camera> getReferences(Collection<String> cameraIds) {
+        Map<String, Camera> cameras = new HashMap<>();
+        Set<String> misses = new HashSet<>();
+        for (String cameraId : cameraIds) {
+            if (lookup(cameraId) != null) {
+                cameras.put(cameraId, cameraRepository.getReferenceById(cameraId));
+            } else {
+                misses.add(cameraId);
+            }
+        }
+        
+        if (!misses.isEmpty()) {
+            cameraRepository.findAllById(misses).forEach(camera -> {
+                put(camera);
+                cameras.put(camera.getId(), camera);
+            });
+        }
+        return cameras;
+    }
+    
+    /**
+     * 캐시된 카메라 요약 정보를 반환한다. 캐시에 없거나 만료된 경우 null.
+     */
+    public CameraSnapshot lookup(String cameraId) {
+        synchronized (cache) {
+            CameraSnapshot snapshot = cache.get(cameraId);
+            if (snapshot != null && System.nanoTime() - snapshot.loadedAt() > expireAfterNanos) {
+                cache.remove(cameraId);
+                return null;
+            }
+            return snapshot;
+        }
+    }
+    
+    /**
+     * 카메라 요약 정보를 반환한다. 캐시에 없으면 DB에서 조회하여 캐시하며, 존재하지 않는 카메라는 null.
+     */
+    public CameraSnapshot snapshot(String cameraId) {
+        CameraSnapshot snapshot = lookup(cameraId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return cameraRepository.findById(cameraId).map(this::put).orElse(null);
+    }
+    
+    public CameraSnapshot put(Camera camera) {
+        CameraSnapshot snapshot = new CameraSnapshot(camera.getId(), camera.getName(), camera.getStatus(), System.nanoTime());
+        synchronized (cache) {
+            cache.put(camera.getId(), snapshot);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 카메라가 변경(생성/수정/삭제/상태 변경)되어 무효화될 때 호출할 리스너를 등록한다.
+     * 트랜잭션 중이면 트랜잭션 종료 후에 호출된다.
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+    
+    /**
+     * 무효화를 다른 노드에 전파할 발행자를 등록한다 (다중 노드 전파 계층이 시작 시 등록).
+     */
+    public void setClusterPublisher(Consumer<String> clusterPublisher) {
+        this.clusterPublisher = clusterPublisher;
+    }
+    
+    /**
+     * 캐시에서 카메라를 제거한다. 트랜잭션 중이면 커밋 이후에도 한 번 더 제거하여
+     * 커밋 전에 다른 스레드가 이전 상태를 다시 캐시하는 경우를 막는다.
+     * 종료 후 다른 노드에도 전파하여 각 노드의 캐시에서 제거되게 한다.
+     */
+    public void invalidate(String cameraId) {
+        evict(cameraId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(cameraId);
+                    notifyListeners(cameraId);
+                    clusterPublisher.accept(cameraId);
+                }
+            });
+        } else {
+            notifyListeners(cameraId);
+            clusterPublisher.accept(cameraId);
+        }
+    }
+    
+    /**
+     * 다른 노드에서 전파된 무효화를 반영한다. 다시 전파하지 않는다.
+     */
+    public void invalidateFromCluster(String cameraId) {
+        evict(cameraId);
+        notifyListeners(cameraId);
+    }
+    
+    private void evict(String cameraId) {
+        synchronized (cache) {
+            if (cache.remove(cameraId) != null) {
+                log.debug("카메라 캐시 무효화: {}", cameraId);
+            }
+        }
+    }
+    
+    private void notifyListeners(String cameraId) {
+        for (Consumer<String> listener : invalidationListeners) {
+            try {
+                listener.accept(cameraId);
+            } catch (Exception e) {
+                log.warn("카메라 무효화 리스너 오류: {}", cameraId, e);
+            }
+        }
+    }
+    
+    public record CameraSnapshot(String id, String name, Camera.CameraStatus status, long loadedAt) {}
+}
@@ -20,10 +20,12 @@ public class CameraService {
     
     private final CameraRepository cameraRepository;
     private final UserRepository userRepository;
+    private final CameraRegistry cameraRegistry;
     
-    public CameraService(CameraRepository cameraRepository, UserRepository userRepository) {
+    public CameraService(CameraRepository cameraRepository, UserRepository userRepository, CameraRegistry cameraRegistry) {
         this.cameraRepository = cameraRepository;
         this.userRepository = userRepository;
+        this.cameraRegistry = cameraRegistry;
     }
     
     public List<Camera> getCamerasByUserId(UUID userId) {
@@ -59,6 +61,7 @@ public class CameraService {
         camera.setStatus(newStatus);
         
         Camera updatedCamera = cameraRepository.save(camera);
+        cameraRegistry.invalidate(cameraId);
         log.info("카메라 {} 상태 변경 완료: {} -> {}", cameraId, oldStatus, newStatus);
         
         return updatedCamera;
@@ -89,6 +92,7 @@ public class CameraService {
         camera.setMetaJson(request.getDescription());
         
         Camera savedCamera = cameraRepository.save(camera);
+        cameraRegistry.invalidate(newCameraId);
         log.info("카메라 생성 완료: {}", savedCamera.getId());
         
         return savedCamera;
@@ -110,6 +114,7 @@ public class CameraService {
         camera.setMetaJson(request.getDescription());
         
         Camera updatedCamera = cameraRepository.save(camera);
+        cameraRegistry.invalidate(cameraId);
         log.info("카메라 {} 수정 완료", cameraId);
         
         return updatedCamera;
@@ -129,6 +134,7 @@ public class CameraService {
         
         // 카메라 삭제
         cameraRepository.delete(camera);
+        cameraRegistry.invalidate(cameraId);
         log.info("카메라 {} 삭제 완료", cameraId);
     }
     
@@ -0,0 +1,133 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.domain.Camera;
+import com.cctv.controlcenter.repository.CameraRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 교통 이벤트에 따른 카메라 WARNING 상태 관리.
+ * 상태가 실제로 바뀌는 경우에만 UPDATE하고, 같은 카메라의 반복 전환은 디바운스 구간 동안 생략한다.
+ * 일정 시간 교통 이벤트가 없으면 주기적으로 ONLINE으로 되돌린다.
+ * 되돌리는 대상은 이 노드가 WARNING으로 바꾼 카메라뿐이다. 운영자가 설정한 WARNING이나
+ * 재시작 전에 설정된 WARNING은 구분할 수 없으므로 자동으로 해제하지 않는다 (상태 변경 API로 해제).
+ */
+@Component
+public class CameraWarningTracker {
+    
+    private static final Logger log = LoggerFactory.getLogger(CameraWarningTracker.class);
+    
+    private final CameraRepository cameraRepository;
+    private final CameraRegistry cameraRegistry;
+    
+    @Value("${cctv.cameras.warning.debounce-ms:10000}")
+    private long debounceMs;
+    
+    @Value("${cctv.cameras.warning.quiet-period-ms:300000}")
+    private long quietPeriodMs;
+    
+    // 카메라별 마지막 교통 이벤트 시각 / 마지막 WARNING 전환 커밋 시각 (epoch millis)
+    private final Map<String, Long> lastTrafficAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastTransitionAt = new ConcurrentHashMap<>();
+    
+    // 이 노드가 WARNING으로 바꾼 카메라 (감쇠 대상)
+    private final Set<String> warnedCameras = ConcurrentHashMap.newKeySet();
+    
+    public CameraWarningTracker(CameraRepository cameraRepository, CameraRegistry cameraRegistry) {
+        this.cameraRepository = cameraRepository;
+        this.cameraRegistry = cameraRegistry;
+    }
+    
+    /**
+     * 교통 이벤트 발생 시 호출한다. 호출자의 트랜잭션 안에서 실행되어야 한다.
+     */
+    public void onTrafficEvent(String cameraId) {
+        long now = System.currentTimeMillis();
+        lastTrafficAt.put(cameraId, now);
+        
+        // 디바운스 구간 내의 반복 전환은 생략
+        Long lastTransition = lastTransitionAt.get(cameraId);
+        if (lastTransition != null && now - lastTransition < debounceMs) {
+            return;
+        }
+        
+        // 캐시상 이미 WARNING이면 DB에 쓰지 않음
+        CameraRegistry.CameraSnapshot snapshot = cameraRegistry.lookup(cameraId);
+        if (snapshot != null && snapshot.status() == Camera.CameraStatus.WARNING) {
+            return;
+        }
+        
+        int updated = cameraRepository.updateStatusIfChanged(cameraId, Camera.CameraStatus.WARNING, LocalDateTime.now());
+        if (updated > 0) {
+            cameraRegistry.invalidate(cameraId);
+            // 호출자의 트랜잭션이 롤백되면 전환이 없었던 것이므로 커밋 이후에만 기록
+            Runnable record = () -> {
+                lastTransitionAt.put(cameraId, now);
+                warnedCameras.add(cameraId);
+            };
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        record.run();
+                    }
+                });
+            } else {
+                record.run();
+            }
+            log.info("카메라 {} 상태를 WARNING으로 변경", cameraId);
+        }
+    }
+    
+    /**
+     * 조용한 구간(quiet period) 동안 교통 이벤트가 없었던 WARNING 카메라를 ONLINE으로 되돌린다.
+     */
+    @Scheduled(fixedDelayString = "${cctv.cameras.warning.decay-check-interval-ms:30000}")
+    @Transactional
+    public void decayWarnings() {
+        long now = System.currentTimeMillis();
+        
+        List<String> quietCameras = new ArrayList<>();
+        for (String cameraId : warnedCameras) {
+            Long lastSeen = lastTrafficAt.get(cameraId);
+            if (lastSeen == null || now - lastSeen >= quietPeriodMs) {
+                quietCameras.add(cameraId);
+            }
+        }
+        if (quietCameras.isEmpty()) {
+            return;
+        }
+        
+        // 아직 WARNING인 카메라만 변경하고 무효화 (그 사이 운영자가 바꾼 카메라는 추적만 종료)
+        List<String> warningCameras = cameraRepository.findIdsByIdInAndStatus(quietCameras, Camera.CameraStatus.WARNING);
+        int updated = warningCameras.isEmpty() ? 0 : cameraRepository.updateStatusIfCurrent(warningCameras,
+                Camera.CameraStatus.WARNING, Camera.CameraStatus.ONLINE, LocalDateTime.now());
+        
+        for (String cameraId : quietCameras) {
+            // 처리 중에 새 교통 이벤트가 들어온 카메라는 추적 유지 (다음 이벤트에서 다시 WARNING으로 기록)
+            Long lastSeen = lastTrafficAt.get(cameraId);
+            if (lastSeen != null && now - lastSeen >= quietPeriodMs) {
+                lastTrafficAt.remove(cameraId, lastSeen);
+            }
+            warnedCameras.remove(cameraId);
+            lastTransitionAt.remove(cameraId);
+        }
+        if (updated > 0) {
+            warningCameras.forEach(cameraRegistry::invalidate);
+        }
+        log.info("WARNING 상태 해제: 대상 {}개, 변경 {}개", quietCameras.size(), updated);
+    }
+}
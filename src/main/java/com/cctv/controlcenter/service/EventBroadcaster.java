@@ -0,0 +1,656 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.cluster.ClusterEventBus;
+import com.cctv.controlcenter.cluster.CommittedEvent;
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.dto.CameraTileDTO;
+import com.cctv.controlcenter.dto.EventDTO;
+import com.cctv.controlcenter.push.EventSocketHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 이벤트 브로드캐스트.
+ * 이벤트는 트랜잭션 커밋 후 {@link ClusterEventBus}로 발행되어 모든 노드에서 각자의 구독자에게 전송된다.
+ * 이벤트는 노드마다 한 번만 직렬화되어 순번과 함께 링 버퍼에 기록된 뒤 제한 크기 큐로 팬아웃 스레드에 넘겨지고,
+ * 팬아웃 스레드가 대상 구독자를 찾아 구독자별 제한 크기 큐에 넣으며, 전송은 구독자마다 별도의 디스패처 작업이
+ * 담당한다. 따라서 발행 스레드는 구독자 수나 브라우저 속도와 무관하게 끝나며, 큐가 넘친 느린 구독자는 연결을 끊는다.
+ * 팬아웃 큐가 넘치면 빠진 순번은 링 버퍼에서 채워 보내므로, 링 버퍼에서도 밀려난 이벤트만 실시간 전송에서 빠진다.
+ * 카메라를 지정한 구독자는 카메라별 색인으로 찾으므로 이벤트마다 관심 있는 구독자만 확인한다.
+ * 이벤트에는 "{기동 시각}:{순번}" 형식의 SSE ID를 붙이고 최근 이벤트를 링 버퍼에 보관하여,
+ * Last-Event-ID로 재연결한 구독자에게 놓친 이벤트를 먼저 재전송한 뒤 실시간 전송으로 넘어간다.
+ * 타일 구독자(관제 화면 카메라 타일)는 개별 이벤트 대신 카메라별 최신 상태만 받는다. 변경된 카메라를
+ * 구독자별로 표시해 두었다가 틱마다 한 번에 보내므로, 이벤트가 몰리는 카메라도 틱당 한 번만 갱신된다.
+ * 연결 유지는 타이머 휠로 구독자마다 마지막 전송 시각을 기준으로 처리한다. 일정 시간 보낸 것이 없는
+ * 구독자에게만 SSE 주석 프레임을 보내고, 대기 중인 프레임이 오래 전송되지 않은 구독자는 끊는다.
+ */
+@Component
+public class EventBroadcaster {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventBroadcaster.class);
+    
+    private final ObjectMapper objectMapper;
+    private final CameraRegistry cameraRegistry;
+    private final ReactiveEventStream reactiveEventStream;
+    private final EventSocketHandler eventSocketHandler;
+    private final ClusterEventBus clusterEventBus;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // 카메라 필터가 있는 구독자 색인 / 모든 카메라를 구독하는 구독자
+    private final Map<String, Set<Subscriber>> subscribersByCamera = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allCameraSubscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> tileSubscribers = ConcurrentHashMap.newKeySet();
+    // 카메라별 마지막 이벤트. 타일 상태(카메라 이름/상태)는 전송 시점에 카메라 캐시에서 읽음
+    private final Map<String, LastEvent> lastEvents = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final Counter evictedCounter;
+    private final Counter fanOutOverflowCounter;
+    private final Counter fanOutDroppedCounter;
+    
+    @Value("${cctv.events.stream.queue-capacity:256}")
+    private int queueCapacity;
+    
+    // 연결 유지용 SSE 주석 프레임 (":" 한 줄). 모든 구독자가 같은 프레임을 공유
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> KEEPALIVE = SseEmitter.event().comment("").build();
+    private final TimerWheel<Subscriber> keepaliveWheel;
+    private final long keepaliveNanos;
+    private final long stallTimeoutNanos;
+    
+    // 재전송용 링 버퍼. 순번 부여/버퍼 기록/팬아웃 큐 투입은 replayLock 안에서 순서대로 수행
+    private final Object replayLock = new Object();
+    private final ReplayEntry[] replayBuffer;
+    private final long epoch = System.currentTimeMillis();
+    private long lastSequence;
+    
+    // 링 버퍼에 기록된 이벤트를 순번 순서로 구독자에게 나누는 단일 스레드 (lastFannedOut은 이 스레드만 사용)
+    private final BlockingQueue<ReplayEntry> fanOutQueue;
+    private final Thread fanOutThread;
+    private volatile boolean running = true;
+    private long lastFannedOut;
+    
+    public EventBroadcaster(ObjectMapper objectMapper, CameraRegistry cameraRegistry,
+            ReactiveEventStream reactiveEventStream, EventSocketHandler eventSocketHandler, ClusterEventBus clusterEventBus, MeterRegistry meterRegistry,
+            @Value("${cctv.events.stream.replay-buffer-size:1024}") int replayBufferSize,
+            @Value("${cctv.events.stream.fan-out-queue-capacity:4096}") int fanOutQueueCapacity,
+            @Value("${cctv.events.stream.keepalive.interval-ms:10000}") long keepaliveMs,
+            @Value("${cctv.events.stream.keepalive.tick-ms:100}") long keepaliveTickMs,
+            @Value("${cctv.events.stream.keepalive.stall-timeout-ms:60000}") long stallTimeoutMs) {
+        if (replayBufferSize < 1) {
+            throw new IllegalArgumentException("재전송 버퍼 크기는 1 이상이어야 합니다: " + replayBufferSize);
+        }
+        this.objectMapper = objectMapper;
+        this.cameraRegistry = cameraRegistry;
+        this.reactiveEventStream = reactiveEventStream;
+        this.eventSocketHandler = eventSocketHandler;
+        this.clusterEventBus = clusterEventBus;
+        // 카메라 상태 변경(WARNING 전환, 수동 변경 등)도 타일에 반영
+        cameraRegistry.addInvalidationListener(this::cameraChanged);
+        this.replayBuffer = new ReplayEntry[replayBufferSize];
+        this.keepaliveNanos = TimeUnit.MILLISECONDS.toNanos(keepaliveMs);
+        this.stallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs);
+        this.keepaliveWheel = new TimerWheel<>(keepaliveTickMs, (int) (keepaliveMs / keepaliveTickMs) + 1);
+        // 전송이 막힌 구독자가 다른 구독자를 지연시키지 않도록 구독자별 작업을 별도 스레드에서 실행
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictedCounter = Counter.builder("cctv.events.stream.evicted")
+                .description("전송 큐가 넘치거나 전송에 실패하여 끊은 SSE 구독자 수")
+                .register(meterRegistry);
+        this.fanOutOverflowCounter = Counter.builder("cctv.events.stream.fan_out.overflow")
+                .description("팬아웃 큐가 넘쳐 링 버퍼에서 다시 읽은 이벤트 수")
+                .register(meterRegistry);
+        this.fanOutDroppedCounter = Counter.builder("cctv.events.stream.fan_out.dropped")
+                .description("팬아웃 전에 링 버퍼에서도 밀려나 실시간 전송하지 못한 이벤트 수")
+                .register(meterRegistry);
+        this.fanOutQueue = new ArrayBlockingQueue<>(fanOutQueueCapacity);
+        Gauge.builder("cctv.events.stream.fan_out.queue", fanOutQueue, BlockingQueue::size)
+                .description("팬아웃 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        this.fanOutThread = new Thread(this::fanOutLoop, "sse-fan-out");
+        this.fanOutThread.setDaemon(true);
+        this.fanOutThread.start();
+        clusterEventBus.subscribe(this::dispatch);
+        Gauge.builder("cctv.events.stream.subscribers", subscribers, Set::size)
+                .description("SSE 구독자 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 구독을 추가한다. lastEventId가 있으면 그 이후의 이벤트를 버퍼에서 재전송하고,
+     * 버퍼에 남아 있지 않으면(재시작, 오래된 ID) replay-gap 이벤트로 알린다.
+     */
+    public SseEmitter subscribe(SubscriptionFilter filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L); // 무한 타임아웃
+        Subscriber subscriber;
+        int replayed = 0;
+        
+        // 재전송과 등록 사이에 브로드캐스트된 이벤트가 누락/중복되지 않도록 잠금 안에서 처리
+        synchronized (replayLock) {
+            List<ReplayEntry> missed = lastEventId != null ? missedSince(lastEventId) : List.of();
+            subscriber = new Subscriber(emitter, filter, queueCapacity + (missed != null ? missed.size() : 0));
+            // 이 순번까지는 재전송(또는 replay-gap)으로 처리했으므로 팬아웃 스레드가 다시 보내지 않음
+            subscriber.fromSequence = lastSequence;
+            register(subscriber);
+            
+            // 연결 확인 메시지도 큐를 거쳐 이후 이벤트와 순서를 보장
+            subscriber.offer(SseEmitter.event()
+                    .name("connected")
+                    .data("SSE 연결 성공")
+                    .build());
+            
+            if (missed == null) {
+                subscriber.offer(SseEmitter.event()
+                        .name("replay-gap")
+                        .data("놓친 이벤트를 재전송할 수 없습니다. 목록 조회로 동기화하세요.")
+                        .build());
+            } else {
+                for (ReplayEntry entry : missed) {
+                    if (filter.matches(entry.event())) {
+                        subscriber.offer(entry.frame());
+                        replayed++;
+                    }
+                }
+            }
+        }
+        
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError((ex) -> unregister(subscriber));
+        
+        log.info("SSE 구독 추가: 필터={}, Last-Event-ID={}, 재전송 {}건, 현재 구독자 수 = {}",
+                filter, lastEventId, replayed, subscribers.size());
+        return emitter;
+    }
+    
+    /**
+     * 카메라 타일 구독을 추가한다. 구독 직후 첫 틱에 현재 타일 전체를 보내고,
+     * 이후에는 틱마다 변경된 카메라의 타일만 묶어 tiles 이벤트(JSON 배열)로 보낸다.
+     */
+    public SseEmitter subscribeTiles(Set<String> cameraIds) {
+        SseEmitter emitter = new SseEmitter(0L); // 무한 타임아웃
+        Subscriber subscriber = new Subscriber(emitter, new SubscriptionFilter(cameraIds, null, 0, 0.0), queueCapacity, true);
+        register(subscriber);
+        subscriber.offer(SseEmitter.event()
+                .name("connected")
+                .data("SSE 연결 성공")
+                .build());
+        for (String cameraId : cameraIds != null && !cameraIds.isEmpty() ? cameraIds : lastEvents.keySet()) {
+            subscriber.dirtyCameras.add(cameraId);
+        }
+        
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError((ex) -> unregister(subscriber));
+        
+        log.info("SSE 타일 구독 추가: cameraIds={}, 현재 구독자 수 = {}", cameraIds, subscribers.size());
+        return emitter;
+    }
+    
+    /**
+     * 저장된 이벤트를 커밋 이후에 클러스터에 발행한다. 호출자의 트랜잭션 안에서 호출해야 카메라 이름을 읽을 수 있다.
+     */
+    public void publish(Event event) {
+        String cameraName = cameraName(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 생성 시각(createdAt)은 flush 시점에 채워지므로 DTO는 커밋 이후에 만든다
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clusterEventBus.publish(CommittedEvent.of(event, cameraName));
+                }
+            });
+        } else {
+            clusterEventBus.publish(CommittedEvent.of(event, cameraName));
+        }
+    }
+    
+    /**
+     * 타이머 휠을 진행하여 연결 유지 시각이 된 구독자만 확인한다.
+     */
+    @Scheduled(fixedRateString = "${cctv.events.stream.keepalive.tick-ms:100}")
+    public void advanceKeepalive() {
+        keepaliveWheel.advance(System.nanoTime(), this::keepalive);
+    }
+    
+    // 리액티브 스트림과 WebSocket 채널은 10초마다 하트비트 전송
+    @Scheduled(fixedRate = 10000)
+    public void sendHeartbeat() {
+        if (reactiveEventStream.hasSubscribers()) {
+            reactiveEventStream.emitHeartbeat(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+        if (eventSocketHandler.hasConnections()) {
+            eventSocketHandler.sendHeartbeat();
+        }
+    }
+    
+    /**
+     * 타일 구독자별로 표시된 카메라의 최신 타일을 보낸다. 같은 틱 안에서 타일은 카메라당 한 번만 직렬화하며,
+     * 이전 틱의 전송이 아직 끝나지 않은 구독자는 건너뛰어 다음 틱에 합쳐 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${cctv.events.stream.tiles.tick-ms:500}")
+    public void flushTiles() {
+        if (tileSubscribers.isEmpty()) {
+            return;
+        }
+        Map<String, byte[]> encoded = new HashMap<>();
+        for (Subscriber subscriber : tileSubscribers) {
+            if (subscriber.dirtyCameras.isEmpty() || !subscriber.queue.isEmpty()) {
+                continue;
+            }
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            payload.write('[');
+            Iterator<String> dirty = subscriber.dirtyCameras.iterator();
+            while (dirty.hasNext()) {
+                String cameraId = dirty.next();
+                dirty.remove();
+                byte[] tile = encoded.computeIfAbsent(cameraId, this::encodeTile);
+                if (tile.length > 0) {
+                    if (payload.size() > 1) {
+                        payload.write(',');
+                    }
+                    payload.writeBytes(tile);
+                }
+            }
+            if (payload.size() > 1) {
+                payload.write(']');
+                subscriber.offer(SseEmitter.event()
+                        .name("tiles")
+                        .data(payload.toByteArray(), MediaType.APPLICATION_JSON)
+                        .build());
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        fanOutThread.interrupt();
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdown();
+    }
+    
+    // 발행 스레드(커밋 이후, 클러스터 수신)에서 호출. 잠금 안에서는 순번 부여와 링 버퍼 기록만 하고 팬아웃은 넘김
+    private void dispatch(CommittedEvent event) {
+        EventDTO dto = event.toDto();
+        // 재연결한 구독자에게 재전송할 수 있도록 구독자가 없어도 직렬화하여 버퍼에 보관
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            log.error("SSE 이벤트 직렬화 실패: id={}", dto.getId(), e);
+            return;
+        }
+        
+        synchronized (replayLock) {
+            long sequence = ++lastSequence;
+            String id = epoch + ":" + sequence;
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                    .id(id)
+                    .name("event")
+                    .data(payload, MediaType.APPLICATION_JSON)
+                    .build();
+            ReplayEntry entry = new ReplayEntry(sequence, dto, frame, id, payload, event.vehicleCount(), event.bbox());
+            replayBuffer[(int) (sequence % replayBuffer.length)] = entry;
+            // 큐 순서가 순번 순서가 되도록 잠금 안에서 넣음 (대기 없음). 넘치면 팬아웃 스레드가 링 버퍼에서 채움
+            if (!fanOutQueue.offer(entry)) {
+                fanOutOverflowCounter.increment();
+            }
+        }
+    }
+    
+    private void fanOutLoop() {
+        while (running) {
+            try {
+                ReplayEntry next = fanOutQueue.poll(1, TimeUnit.SECONDS);
+                // 큐가 넘쳐 빠진 순번은 링 버퍼에서 읽어 순서대로 먼저 보냄
+                // (큐가 빈 채로 대기 시간이 지나면 마지막 순번까지 확인하여 넘친 이벤트가 다음 이벤트를 기다리지 않게 함)
+                long gapEnd;
+                if (next != null) {
+                    gapEnd = next.sequence() - 1;
+                } else {
+                    synchronized (replayLock) {
+                        gapEnd = lastSequence;
+                    }
+                }
+                int dropped = 0;
+                for (long sequence = lastFannedOut + 1; sequence <= gapEnd; sequence++) {
+                    ReplayEntry missed;
+                    synchronized (replayLock) {
+                        missed = replayBuffer[(int) (sequence % replayBuffer.length)];
+                    }
+                    if (missed != null && missed.sequence() == sequence) {
+                        fanOut(missed);
+                    } else {
+                        dropped++;
+                    }
+                }
+                if (dropped > 0) {
+                    fanOutDroppedCounter.increment(dropped);
+                    log.warn("SSE 팬아웃 지연으로 재전송 버퍼에서 밀려난 이벤트 {}건을 건너뜀 (~순번 {})", dropped, gapEnd);
+                }
+                lastFannedOut = Math.max(lastFannedOut, gapEnd);
+                if (next != null && next.sequence() > lastFannedOut) {
+                    fanOut(next);
+                    lastFannedOut = next.sequence();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    // 한 이벤트의 실패가 팬아웃 스레드를 멈추거나 같은 이벤트를 다시 보내게 하지 않도록 이벤트 단위로 처리
+    private void fanOut(ReplayEntry entry) {
+        try {
+            deliver(entry);
+        } catch (RuntimeException e) {
+            log.error("SSE 이벤트 팬아웃 실패: id={}", entry.event().getId(), e);
+        }
+    }
+    
+    private void deliver(ReplayEntry entry) {
+        EventDTO dto = entry.event();
+        List<Subscriber> targets = new ArrayList<>();
+        collectTargets(allCameraSubscribers, entry, targets);
+        Set<Subscriber> cameraSubscribers = subscribersByCamera.get(dto.getCameraId());
+        if (cameraSubscribers != null) {
+            collectTargets(cameraSubscribers, entry, targets);
+        }
+        if (dto.getCameraId() != null) {
+            lastEvents.merge(dto.getCameraId(), new LastEvent(dto.getType(), dto.getTs(), dto.getSeverity(), entry.vehicleCount()),
+                    LastEvent::update);
+        }
+        for (Subscriber subscriber : targets) {
+            if (subscriber.dirtyCameras != null) {
+                subscriber.dirtyCameras.add(dto.getCameraId());
+            } else {
+                subscriber.offer(entry.frame());
+            }
+        }
+        if (reactiveEventStream.hasSubscribers()) {
+            reactiveEventStream.emitEvent(dto, entry.id(), new String(entry.payload(), StandardCharsets.UTF_8));
+        }
+        if (eventSocketHandler.hasConnections()) {
+            eventSocketHandler.publish(dto, entry.bbox());
+        }
+        log.debug("이벤트 브로드캐스트: id={}, 대상 구독자 수 = {}", dto.getId(), targets.size());
+    }
+    
+    // 마지막 전송 후 keepalive 간격이 지났으면 주석 프레임을 보내고, 아니면 마지막 전송 시각 기준으로 다시 등록
+    private void keepalive(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long idle = now - subscriber.lastWriteNanos;
+        if (!subscriber.queue.isEmpty()) {
+            if (idle >= stallTimeoutNanos) {
+                evict(subscriber, "전송 정체");
+                return;
+            }
+            keepaliveWheel.schedule(subscriber, now + keepaliveNanos);
+        } else if (idle >= keepaliveNanos) {
+            subscriber.offer(KEEPALIVE);
+            keepaliveWheel.schedule(subscriber, now + keepaliveNanos);
+        } else {
+            keepaliveWheel.schedule(subscriber, subscriber.lastWriteNanos + keepaliveNanos);
+        }
+    }
+    
+    // 카메라 캐시 무효화 시 호출 (트랜잭션 종료 후). 다음 틱에 최신 상태를 다시 읽어 보냄
+    private void cameraChanged(String cameraId) {
+        lastEvents.putIfAbsent(cameraId, LastEvent.NONE);
+        markDirty(allCameraSubscribers, cameraId);
+        Set<Subscriber> cameraSubscribers = subscribersByCamera.get(cameraId);
+        if (cameraSubscribers != null) {
+            markDirty(cameraSubscribers, cameraId);
+        }
+    }
+    
+    private static void markDirty(Set<Subscriber> candidates, String cameraId) {
+        for (Subscriber subscriber : candidates) {
+            if (subscriber.dirtyCameras != null) {
+                subscriber.dirtyCameras.add(cameraId);
+            }
+        }
+    }
+    
+    // 타일 JSON. 직렬화에 실패하면 빈 배열 (틱 단위 캐시에 null을 넣지 않기 위함)
+    private byte[] encodeTile(String cameraId) {
+        try {
+            CameraRegistry.CameraSnapshot snapshot = cameraRegistry.snapshot(cameraId);
+            if (snapshot == null) {
+                lastEvents.remove(cameraId);
+                return objectMapper.writeValueAsBytes(CameraTileDTO.removed(cameraId));
+            }
+            LastEvent last = lastEvents.getOrDefault(cameraId, LastEvent.NONE);
+            return objectMapper.writeValueAsBytes(new CameraTileDTO(cameraId, snapshot.name(),
+                    snapshot.status() != null ? snapshot.status().name() : null,
+                    last.type(), last.ts(), last.severity(), last.vehicleCount()));
+        } catch (Exception e) {
+            log.error("카메라 타일 생성 실패: {}", cameraId, e);
+            return new byte[0];
+        }
+    }
+    
+    // Last-Event-ID 이후의 버퍼 내 이벤트. 버퍼로 이어 줄 수 없으면 null (replayLock 안에서 호출)
+    private List<ReplayEntry> missedSince(String lastEventId) {
+        int separator = lastEventId.indexOf(':');
+        long lastSeen;
+        try {
+            if (separator < 0 || Long.parseLong(lastEventId.substring(0, separator)) != epoch) {
+                return null;
+            }
+            lastSeen = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        
+        long oldest = Math.max(1, lastSequence - replayBuffer.length + 1);
+        if (lastSeen > lastSequence || lastSeen < oldest - 1) {
+            return null;
+        }
+        List<ReplayEntry> missed = new ArrayList<>((int) (lastSequence - lastSeen));
+        for (long sequence = lastSeen + 1; sequence <= lastSequence; sequence++) {
+            missed.add(replayBuffer[(int) (sequence % replayBuffer.length)]);
+        }
+        return missed;
+    }
+    
+    // 구독 시점에 이미 재전송으로 받은 이벤트는 제외
+    private static void collectTargets(Set<Subscriber> candidates, ReplayEntry entry, List<Subscriber> targets) {
+        for (Subscriber subscriber : candidates) {
+            if (entry.sequence() > subscriber.fromSequence && subscriber.filter.matches(entry.event())) {
+                targets.add(subscriber);
+            }
+        }
+    }
+    
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (subscriber.dirtyCameras != null) {
+            tileSubscribers.add(subscriber);
+        }
+        if (subscriber.filter.cameraIds().isEmpty()) {
+            allCameraSubscribers.add(subscriber);
+        } else {
+            for (String cameraId : subscriber.filter.cameraIds()) {
+                subscribersByCamera.computeIfAbsent(cameraId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            }
+        }
+        keepaliveWheel.schedule(subscriber, System.nanoTime() + keepaliveNanos);
+    }
+    
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allCameraSubscribers.remove(subscriber);
+        tileSubscribers.remove(subscriber);
+        for (String cameraId : subscriber.filter.cameraIds()) {
+            subscribersByCamera.computeIfPresent(cameraId, (key, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+    
+    // 캐시된 카메라 이름을 사용하고, 없는 경우에만 프록시를 초기화
+    private String cameraName(Event event) {
+        if (event.getCamera() == null) {
+            return null;
+        }
+        CameraRegistry.CameraSnapshot snapshot = cameraRegistry.lookup(event.getCamera().getId());
+        return snapshot != null ? snapshot.name() : event.getCamera().getName();
+    }
+    
+    private void evict(Subscriber subscriber, String reason) {
+        if (subscriber.close()) {
+            evictedCounter.increment();
+            log.warn("SSE 구독자 연결 종료 ({}): 현재 구독자 수 = {}", reason, subscribers.size());
+        }
+    }
+    
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final SubscriptionFilter filter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastWriteNanos = System.nanoTime();
+        // 구독 시점의 마지막 순번 (replayLock 안에서 기록, 등록 전에 쓰이므로 팬아웃 스레드에 보임)
+        private volatile long fromSequence;
+        // 타일 구독자만 사용: 다음 틱에 보낼 카메라
+        private final Set<String> dirtyCameras;
+        
+        Subscriber(SseEmitter emitter, SubscriptionFilter filter, int capacity) {
+            this(emitter, filter, capacity, false);
+        }
+        
+        Subscriber(SseEmitter emitter, SubscriptionFilter filter, int capacity, boolean tiles) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.dirtyCameras = tiles ? ConcurrentHashMap.newKeySet() : null;
+        }
+        
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                evict(this, "전송 큐 초과");
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    try {
+                        emitter.send(frame);
+                        lastWriteNanos = System.nanoTime();
+                    } catch (IOException | IllegalStateException e) {
+                        evict(this, "전송 실패");
+                        return;
+                    }
+                }
+                scheduled.set(false);
+                // 플래그를 내린 사이에 들어온 프레임이 있으면 이어서 처리
+            } while (!closed.get() && !queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+        
+        boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            unregister(this);
+            queue.clear();
+            // 전송 중인 emitter의 잠금을 기다리지 않도록 종료는 디스패처에서 수행
+            dispatcher.execute(() -> {
+                try {
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.debug("SSE 연결 종료 중 오류", e);
+                }
+            });
+            return true;
+        }
+    }
+    
+    // 차량 수는 통행량 이벤트에만 있으므로 다른 이벤트가 와도 마지막 값을 유지
+    private record LastEvent(String type, LocalDateTime ts, Integer severity, Integer vehicleCount) {
+        
+        static final LastEvent NONE = new LastEvent(null, null, null, null);
+        
+        LastEvent update(LastEvent next) {
+            return next.vehicleCount() != null ? next : new LastEvent(next.type(), next.ts(), next.severity(), vehicleCount);
+        }
+    }
+    
+    private record ReplayEntry(long sequence, EventDTO event, Set<ResponseBodyEmitter.DataWithMediaType> frame,
+            String id, byte[] payload, Integer vehicleCount, int[] bbox) {}
+    
+    /**
+     * 구독 필터. 비어 있는 조건은 전체를 의미한다.
+     */
+    public record SubscriptionFilter(Set<String> cameraIds, Set<String> types, int minSeverity, double minScore) {
+        
+        public SubscriptionFilter {
+            cameraIds = cameraIds != null ? Set.copyOf(cameraIds) : Set.of();
+            types = types != null ? Set.copyOf(types) : Set.of();
+        }
+        
+        boolean matches(EventDTO event) {
+            return matches(event.getCameraId(), event.getType(), event.getSeverity(), event.getScore());
+        }
+        
+        public boolean matches(String cameraId, String type, Integer severity, Double score) {
+            return (cameraIds.isEmpty() || cameraIds.contains(cameraId))
+                    && (types.isEmpty() || types.contains(type))
+                    && (severity == null || severity >= minSeverity)
+                    && (score == null || score >= minScore);
+        }
+    }
+}
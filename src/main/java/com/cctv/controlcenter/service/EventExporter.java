@@ -0,0 +1,171 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.dto.EventDTO;
+import com.cctv.controlcenter.repository.EventRepository;
+import com.cctv.controlcenter.repository.EventSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * 이벤트 내보내기 (NDJSON/CSV).
+ * 순방향 커서로 fetch-size건씩 읽어 바로 응답에 쓰므로 건수와 관계없이 메모리 사용량이 일정하다.
+ * 내보내기 하나가 DB 연결 하나를 끝까지 점유하므로 동시 실행 수를 제한한다.
+ */
+@Service
+public class EventExporter {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventExporter.class);
+    
+    // 목록 조회와 같은 최신순
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("ts"), Sort.Order.desc("id"));
+    private static final String CSV_HEADER = "id,cameraId,cameraName,ts,type,severity,score,bboxJson,metaJson,createdAt";
+    
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Counter exportedCounter;
+    
+    @Value("${cctv.events.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public EventExporter(EventRepository eventRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${cctv.events.export.max-concurrent:4}") int maxConcurrent) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrent);
+        this.exportedCounter = Counter.builder("cctv.events.export.rows")
+                .description("내보낸 이벤트 수")
+                .register(meterRegistry);
+    }
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+        
+        /**
+         * @throws IllegalArgumentException 지원하지 않는 형식인 경우
+         */
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + value);
+        }
+    }
+    
+    /**
+     * 동시 실행 한도 안이면 true. true를 받은 호출자는 내보내기가 끝나면 {@link #release()}를 호출해야 한다.
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    /**
+     * 필터에 맞는 이벤트를 최신순으로 out에 쓴다. 시간 범위는 [startDate, endDate)이다.
+     * 클라이언트 연결이 끊기면 IOException으로 중단된다.
+     */
+    @Transactional(readOnly = true)
+    public long export(String cameraId, String eventType, LocalDateTime startDate, LocalDateTime endDate,
+            int minSeverity, Format format, OutputStream out) throws IOException {
+        Specification<Event> spec = EventSpecifications.filter(cameraId, eventType, minSeverity, startDate, endDate);
+        long started = System.nanoTime();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<EventDTO> events = eventRepository.streamDtos(spec, LATEST_FIRST, fetchSize)) {
+            Iterator<EventDTO> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                EventDTO event = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, event);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.write('\n');
+                }
+                rows++;
+            }
+            writer.flush();
+        } finally {
+            exportedCounter.increment(rows);
+        }
+        log.info("이벤트 내보내기 완료: 형식={}, {}건, {}ms", format, rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+    
+    private static void writeCsv(Writer writer, EventDTO event) throws IOException {
+        writer.write(String.valueOf(event.getId()));
+        writer.write(',');
+        writeCsvField(writer, event.getCameraId());
+        writer.write(',');
+        writeCsvField(writer, event.getCameraName());
+        writer.write(',');
+        writeCsvField(writer, event.getTs() != null ? event.getTs().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, event.getType());
+        writer.write(',');
+        writeCsvField(writer, event.getSeverity() != null ? event.getSeverity().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, event.getScore() != null ? event.getScore().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, event.getBboxJson());
+        writer.write(',');
+        writeCsvField(writer, event.getMetaJson());
+        writer.write(',');
+        writeCsvField(writer, event.getCreatedAt() != null ? event.getCreatedAt().toString() : null);
+        writer.write('\n');
+    }
+    
+    // RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 씀
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,368 @@
+package com.cctv.controlcenter.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * events 테이블의 ts 범위 파티션 관리 (docker 프로필, PostgreSQL 전용).
+ * 일반 테이블이면 처음 한 번 파티션 테이블로 전환하며, 기존 테이블은 그대로 첫 파티션(events_legacy)으로 붙인다.
+ * 이후 주기적으로 앞으로 쓸 파티션을 미리 만들고, 보존 기간이 지난 파티션은 DELETE 대신 통째로 삭제한다.
+ * 파티션 범위 밖의 ts는 events_default에 저장되며, 해당 범위의 파티션을 만들 때 그 파티션으로 옮긴다.
+ * 여러 노드가 동시에 실행해도 advisory lock으로 한 노드만 작업한다.
+ */
+@Component
+@ConditionalOnProperty(name = "cctv.events.partitioning.enabled", havingValue = "true")
+public class EventPartitionManager {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventPartitionManager.class);
+    
+    private static final String PARENT = "events";
+    private static final String LEGACY = "events_legacy";
+    private static final String DEFAULT = "events_default";
+    private static final long ADVISORY_LOCK_KEY = "cctv.events.partitioning".hashCode();
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    public enum Interval {
+        DAY, WEEK;
+        
+        // ts가 속한 파티션의 시작 시각 (주 단위는 월요일 0시)
+        LocalDateTime floor(LocalDateTime ts) {
+            LocalDateTime day = ts.toLocalDate().atStartOfDay();
+            return this == DAY ? day : day.with(DayOfWeek.MONDAY);
+        }
+        
+        LocalDateTime next(LocalDateTime start) {
+            return this == DAY ? start.plusDays(1) : start.plusWeeks(1);
+        }
+    }
+    
+    private final DataSource dataSource;
+    private final Interval interval;
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+    
+    // 현재 파티션 이후 미리 만들어 둘 파티션 수
+    @Value("${cctv.events.partitioning.premake:7}")
+    private int premake;
+    
+    // 0이면 파티션을 삭제하지 않음
+    @Value("${cctv.events.partitioning.retention-days:0}")
+    private int retentionDays;
+    
+    // 조회/내보내기가 잡은 잠금 뒤에서 수집이 줄줄이 막히지 않도록 잠금 대기를 제한하고 다음 주기에 재시도
+    @Value("${cctv.events.partitioning.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+    
+    public EventPartitionManager(DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${cctv.events.partitioning.interval:day}") String interval) {
+        this.dataSource = dataSource;
+        this.interval = Interval.valueOf(interval.trim().toUpperCase(Locale.ROOT));
+        this.createdCounter = Counter.builder("cctv.events.partitions.created")
+                .description("생성한 이벤트 파티션 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("cctv.events.partitions.dropped")
+                .description("보존 기간이 지나 삭제한 이벤트 파티션 수")
+                .register(meterRegistry);
+    }
+    
+    // 스키마 생성(ddl-auto)과 초기 데이터 적재가 끝난 뒤 첫 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+    
+    @Scheduled(fixedDelayString = "${cctv.events.partitioning.check-interval-ms:3600000}",
+            initialDelayString = "${cctv.events.partitioning.check-interval-ms:3600000}")
+    public void maintain() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (run(connection)) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            log.warn("이벤트 파티션 관리 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+    
+    private boolean run(Connection connection) throws SQLException {
+        if (!tryLock(connection)) {
+            log.debug("다른 노드가 이벤트 파티션 관리 중");
+            return false;
+        }
+        String kind = relationKind(connection, PARENT);
+        if (kind == null) {
+            log.warn("events 테이블이 없어 파티션 관리를 건너뜀");
+            return false;
+        }
+        execute(connection, "SET LOCAL lock_timeout = " + lockTimeoutMs);
+        
+        LocalDateTime current = interval.floor(LocalDateTime.now());
+        LocalDateTime firstStart = current;
+        if ("r".equals(kind)) {
+            firstStart = convert(connection, current);
+        }
+        
+        // 파티션은 이어져 있으므로 마지막 파티션의 상한부터 만듦 (구간 단위를 바꿔도 겹치지 않음)
+        Map<String, LocalDateTime> upperBounds = upperBounds(connection);
+        for (LocalDateTime upper : upperBounds.values()) {
+            if (upper.isAfter(firstStart)) {
+                firstStart = upper;
+            }
+        }
+        LocalDateTime end = current;
+        for (int i = 0; i <= premake; i++) {
+            end = interval.next(end);
+        }
+        for (LocalDateTime start = firstStart; start.isBefore(end); start = interval.next(start)) {
+            createPartition(connection, start, upperBounds);
+        }
+        
+        if (retentionDays > 0) {
+            dropExpired(connection, upperBounds, LocalDateTime.now().minusDays(retentionDays));
+        }
+        return true;
+    }
+    
+    /**
+     * 일반 테이블 events를 같은 구조의 파티션 테이블로 바꾼다. 기존 테이블은 events_legacy로 이름을 바꿔
+     * (MINVALUE, 마지막 이벤트가 속한 구간의 끝) 범위 파티션으로 붙이므로 행을 복사하지 않는다.
+     * 파티션 키가 기본 키에 포함되어야 하므로 기본 키를 (id, ts)로 다시 만들며, 이 동안 events 쓰기는 대기한다.
+     *
+     * @return 새로 만들 파티션의 시작 시각
+     */
+    private LocalDateTime convert(Connection connection, LocalDateTime current) throws SQLException {
+        long started = System.nanoTime();
+        // 전환은 한 번뿐이고 테이블 전체 잠금이 필요하므로 잠금 대기 제한을 두지 않음
+        execute(connection, "SET LOCAL lock_timeout = 0");
+        execute(connection, "LOCK TABLE " + PARENT + " IN ACCESS EXCLUSIVE MODE");
+        
+        LocalDateTime legacyEnd = current;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT max(ts) FROM " + PARENT)) {
+            Timestamp maxTs = rs.next() ? rs.getTimestamp(1) : null;
+            if (maxTs != null) {
+                LocalDateTime afterLast = interval.next(interval.floor(maxTs.toLocalDateTime()));
+                if (afterLast.isAfter(legacyEnd)) {
+                    legacyEnd = afterLast;
+                }
+            }
+        }
+        
+        // 파티션 테이블에 같은 이름으로 다시 만들 인덱스 정의 (기본 키 제외)
+        List<String> indexNames = new ArrayList<>();
+        List<String> indexDefinitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT i.relname, pg_get_indexdef(i.oid) FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid "
+                + "WHERE x.indrelid = ?::regclass AND NOT x.indisprimary")) {
+            statement.setString(1, PARENT);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    indexNames.add(rs.getString(1));
+                    indexDefinitions.add(rs.getString(2));
+                }
+            }
+        }
+        
+        // id만 참조하는 외래 키는 파티션 테이블에 걸 수 없음
+        List<String> foreignKeys = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT conrelid::regclass::text, conname FROM pg_constraint WHERE confrelid = ?::regclass AND contype = 'f'")) {
+            statement.setString(1, PARENT);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    foreignKeys.add("ALTER TABLE " + rs.getString(1) + " DROP CONSTRAINT " + quote(rs.getString(2)));
+                }
+            }
+        }
+        for (String dropForeignKey : foreignKeys) {
+            execute(connection, dropForeignKey);
+        }
+        
+        String primaryKey = null;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'p'")) {
+            statement.setString(1, PARENT);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    primaryKey = rs.getString(1);
+                }
+            }
+        }
+        
+        execute(connection, "ALTER TABLE " + PARENT + " RENAME TO " + LEGACY);
+        if (primaryKey != null) {
+            execute(connection, "ALTER TABLE " + LEGACY + " DROP CONSTRAINT " + quote(primaryKey));
+        }
+        execute(connection, "ALTER TABLE " + LEGACY + " ADD CONSTRAINT " + LEGACY + "_pkey PRIMARY KEY (id, ts)");
+        for (String indexName : indexNames) {
+            execute(connection, "ALTER INDEX " + quote(indexName) + " RENAME TO " + quote(legacyName(indexName)));
+        }
+        
+        execute(connection, "CREATE TABLE " + PARENT + " (LIKE " + LEGACY + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) "
+                + "PARTITION BY RANGE (ts)");
+        execute(connection, "ALTER TABLE " + PARENT + " ADD CONSTRAINT " + PARENT + "_pkey PRIMARY KEY (id, ts)");
+        // 정의의 테이블 이름이 events이므로 새 파티션 테이블에 만들어짐
+        for (String definition : indexDefinitions) {
+            execute(connection, definition);
+        }
+        // 같은 정의의 기존 인덱스는 다시 만들지 않고 파티션 인덱스에 붙음
+        execute(connection, "ALTER TABLE " + PARENT + " ATTACH PARTITION " + LEGACY
+                + " FOR VALUES FROM (MINVALUE) TO ('" + legacyEnd.format(BOUND_FORMAT) + "')");
+        execute(connection, "CREATE TABLE " + DEFAULT + " PARTITION OF " + PARENT + " DEFAULT");
+        
+        log.info("events 테이블을 {} 단위 파티션 테이블로 전환: 기존 행은 {} 파티션(~{}), {}ms",
+                interval, LEGACY, legacyEnd, (System.nanoTime() - started) / 1_000_000);
+        return legacyEnd;
+    }
+    
+    /**
+     * [start, start + 1구간) 파티션을 만든다. 기본 파티션에 이 범위의 행이 있으면 함께 옮긴다.
+     */
+    private void createPartition(Connection connection, LocalDateTime start, Map<String, LocalDateTime> upperBounds)
+            throws SQLException {
+        String name = PARENT + "_p" + start.format(NAME_FORMAT);
+        LocalDateTime end = interval.next(start);
+        String from = "'" + start.format(BOUND_FORMAT) + "'";
+        String to = "'" + end.format(BOUND_FORMAT) + "'";
+        
+        // PARTITION OF로 바로 만들면 기본 파티션에 범위 내 행이 있을 때 실패하므로, 별도 테이블에 옮긴 뒤 붙임
+        execute(connection, "CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved;
+        try (Statement statement = connection.createStatement()) {
+            moved = statement.executeUpdate("WITH moved AS (DELETE FROM " + DEFAULT + " WHERE ts >= " + from
+                    + " AND ts < " + to + " RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+        }
+        execute(connection, "ALTER TABLE " + PARENT + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        upperBounds.put(name, end);
+        createdCounter.increment();
+        if (moved > 0) {
+            log.info("이벤트 파티션 생성: {} [{}, {}), 기본 파티션에서 {}건 이동", name, start, end, moved);
+        } else {
+            log.info("이벤트 파티션 생성: {} [{}, {})", name, start, end);
+        }
+    }
+    
+    /**
+     * 상한이 cutoff 이하인 파티션(모든 행이 보존 기간을 지난 파티션)을 삭제한다.
+     * 기본 파티션은 범위가 없으므로 cutoff 이전 행만 지운다.
+     * alerts.event_id는 외래 키가 없으므로 삭제되는 이벤트를 가리키는 알림의 참조를 먼저 비운다
+     * (남겨 두면 Alert.getEvent() 초기화 시 EntityNotFoundException).
+     */
+    private void dropExpired(Connection connection, Map<String, LocalDateTime> upperBounds, LocalDateTime cutoff)
+            throws SQLException {
+        for (Map.Entry<String, LocalDateTime> partition : new ArrayList<>(upperBounds.entrySet())) {
+            if (!partition.getValue().isAfter(cutoff)) {
+                execute(connection, "UPDATE alerts SET event_id = NULL WHERE event_id IN (SELECT id FROM "
+                        + quote(partition.getKey()) + ")");
+                execute(connection, "DROP TABLE " + quote(partition.getKey()));
+                upperBounds.remove(partition.getKey());
+                droppedCounter.increment();
+                log.info("보존 기간({}일)이 지난 이벤트 파티션 삭제: {} (~{})", retentionDays, partition.getKey(), partition.getValue());
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE alerts SET event_id = NULL WHERE event_id IN "
+                + "(SELECT id FROM " + DEFAULT + " WHERE ts < ?)")) {
+            statement.setTimestamp(1, Timestamp.valueOf(cutoff));
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + DEFAULT + " WHERE ts < ?")) {
+            statement.setTimestamp(1, Timestamp.valueOf(cutoff));
+            int deleted = statement.executeUpdate();
+            if (deleted > 0) {
+                log.info("기본 파티션에서 보존 기간이 지난 이벤트 {}건 삭제", deleted);
+            }
+        }
+    }
+    
+    // 범위 파티션 이름 -> 상한 (기본 파티션 제외)
+    private Map<String, LocalDateTime> upperBounds(Connection connection) throws SQLException {
+        Map<String, LocalDateTime> bounds = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = ?::regclass ORDER BY c.relname")) {
+            statement.setString(1, PARENT);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Matcher matcher = UPPER_BOUND.matcher(rs.getString(2));
+                    if (matcher.find()) {
+                        bounds.put(rs.getString(1), LocalDateTime.parse(matcher.group(1).substring(0, 19), BOUND_FORMAT));
+                    }
+                }
+            }
+        }
+        return bounds;
+    }
+    
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+    
+    // r: 일반 테이블, p: 파티션 테이블, 없으면 null
+    private static String relationKind(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT relkind FROM pg_class WHERE oid = to_regclass(?)")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    private static String legacyName(String indexName) {
+        String suffix = "_legacy";
+        return (indexName.length() + suffix.length() > 63 ? indexName.substring(0, 63 - suffix.length()) : indexName) + suffix;
+    }
+    
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
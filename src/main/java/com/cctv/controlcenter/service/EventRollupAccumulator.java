@@ -0,0 +1,129 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.domain.EventRollup;
+import com.cctv.controlcenter.repository.EventRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 커밋된 이벤트를 분/시/일 집계 키별로 메모리에 모았다가 주기적으로 event_rollups에 더한다.
+ * 이벤트마다 집계 행을 갱신하지 않으므로 수집 경로에는 맵 갱신 비용만 추가된다.
+ * 각 노드는 자신이 저장한 이벤트만 더하므로 여러 노드에서도 중복 집계되지 않는다.
+ * 반영 전에 프로세스가 비정상 종료되면 마지막 반영 주기 동안의 집계가 유실될 수 있다.
+ */
+@Component
+public class EventRollupAccumulator {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventRollupAccumulator.class);
+    
+    private final EventRollupRepository eventRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<EventRollup.Key, Delta> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    
+    public EventRollupAccumulator(EventRollupRepository eventRollupRepository, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.eventRollupRepository = eventRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushedCounter = Counter.builder("cctv.events.rollup.flushed")
+                .description("반영한 집계 행 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cctv.events.rollup.flush_failed")
+                .description("집계 반영 실패 횟수")
+                .register(meterRegistry);
+        Gauge.builder("cctv.events.rollup.pending", pending, Map::size)
+                .description("반영 대기 중인 집계 키 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 저장된 이벤트를 집계에 더한다. 트랜잭션 안이면 커밋된 경우에만 더한다.
+     */
+    public void record(Event event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(event);
+                }
+            });
+        } else {
+            add(event);
+        }
+    }
+    
+    private void add(Event event) {
+        String cameraId = event.getCamera().getId();
+        double score = event.getScore() != null ? event.getScore() : 0.0;
+        for (EventRollup.Granularity granularity : EventRollup.Granularity.values()) {
+            EventRollup.Key key = new EventRollup.Key(granularity, granularity.truncate(event.getTs()),
+                    cameraId, event.getType(), event.getSeverity());
+            pending.compute(key, (k, delta) -> (delta != null ? delta : new Delta()).add(1, score, score));
+        }
+    }
+    
+    /**
+     * 모인 집계를 한 트랜잭션으로 반영한다. 실패하면 다음 주기에 다시 반영하도록 되돌려 놓는다.
+     */
+    @Scheduled(fixedDelayString = "${cctv.events.rollup.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // 키별로 원자적으로 꺼내므로 꺼낸 뒤 들어온 이벤트는 새 항목으로 다음 주기에 반영됨
+        List<EventRollup> batch = new ArrayList<>(pending.size());
+        for (EventRollup.Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                batch.add(new EventRollup(key, delta.count, delta.scoreSum, delta.scoreMax));
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventRollupRepository.addAll(batch));
+            flushedCounter.increment(batch.size());
+            log.debug("이벤트 집계 반영: {}행", batch.size());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("이벤트 집계 반영 실패, 다음 주기에 재시도: {}행", batch.size(), e);
+            for (EventRollup rollup : batch) {
+                pending.compute(rollup.getId(), (k, delta) -> (delta != null ? delta : new Delta())
+                        .add(rollup.getEventCount(), rollup.getScoreSum(), rollup.getScoreMax()));
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    // pending.compute 안에서만 변경
+    private static final class Delta {
+        private long count;
+        private double scoreSum;
+        private double scoreMax = Double.NEGATIVE_INFINITY;
+        
+        Delta add(long count, double scoreSum, double scoreMax) {
+            this.count += count;
+            this.scoreSum += scoreSum;
+            this.scoreMax = Math.max(this.scoreMax, scoreMax);
+            return this;
+        }
+    }
+}
@@ -1,53 +1,104 @@
 package com.cctv.controlcenter.service;
 
+import com.cctv.controlcenter.api.dto.EventBatchResponse;
 import com.cctv.controlcenter.api.dto.EventCreateRequest;
+import com.cctv.controlcenter.api.dto.EventPageResponse;
+import com.cctv.controlcenter.api.dto.EventScrollResponse;
 import com.cctv.controlcenter.api.dto.TrafficEventRequest;
 import com.cctv.controlcenter.domain.Camera;
 import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.domain.EventRollup;
 import com.cctv.controlcenter.domain.Video;
-import com.cctv.controlcenter.repository.CameraRepository;
+import com.cctv.controlcenter.dto.EventDTO;
+import com.cctv.controlcenter.dto.EventStatsDTO;
+import com.cctv.controlcenter.repository.EventCursor;
 import com.cctv.controlcenter.repository.EventRepository;
+import com.cctv.controlcenter.repository.EventRepositoryCustom;
+import com.cctv.controlcenter.repository.EventRollupRepository;
+import com.cctv.controlcenter.repository.EventSpecifications;
 import com.cctv.controlcenter.repository.VideoRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.IdGenerator;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.springframework.scheduling.annotation.Scheduled;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 public class EventService {
     
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
     
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("ts"), Sort.Order.desc("id"));
+    
     private final EventRepository eventRepository;
-    private final CameraRepository cameraRepository;
     private final VideoRepository videoRepository;
+    private final Validator validator;
+    private final CameraRegistry cameraRegistry;
+    private final CameraWarningTracker cameraWarningTracker;
+    private final EventSuppressor eventSuppressor;
+    private final IdGenerator idGenerator;
+    private final EventBroadcaster eventBroadcaster;
+    private final EventRollupAccumulator eventRollupAccumulator;
+    private final EventRollupRepository eventRollupRepository;
+    
+    @Value("${cctv.events.count.estimate-threshold:10000}")
+    private int countEstimateThreshold;
     
-    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    @Value("${cctv.events.rollup.max-buckets:10000}")
+    private long maxStatsBuckets;
     
-    public EventService(EventRepository eventRepository, CameraRepository cameraRepository, VideoRepository videoRepository) {
+    public EventService(EventRepository eventRepository, VideoRepository videoRepository,
+            Validator validator, CameraRegistry cameraRegistry, CameraWarningTracker cameraWarningTracker,
+            EventSuppressor eventSuppressor, IdGenerator idGenerator, EventBroadcaster eventBroadcaster,
+            EventRollupAccumulator eventRollupAccumulator, EventRollupRepository eventRollupRepository) {
         this.eventRepository = eventRepository;
-        this.cameraRepository = cameraRepository;
         this.videoRepository = videoRepository;
+        this.validator = validator;
+        this.cameraRegistry = cameraRegistry;
+        this.cameraWarningTracker = cameraWarningTracker;
+        this.eventSuppressor = eventSuppressor;
+        this.idGenerator = idGenerator;
+        this.eventBroadcaster = eventBroadcaster;
+        this.eventRollupAccumulator = eventRollupAccumulator;
+        this.eventRollupRepository = eventRollupRepository;
     }
     
     @Transactional
     public Event createEvent(EventCreateRequest request) {
         log.info("이벤트 생성 요청: {}", request);
         
-        // 카메라 존재 여부 확인
-        Camera camera = cameraRepository.findById(request.getCameraId())
-                .orElseThrow(() -> new IllegalArgumentException("카메라를 찾을 수 없습니다: " + request.getCameraId()));
+        // 억제 구간 내의 중복 탐지는 새로 저장하지 않고 구간의 첫 이벤트에 합산
+        Event suppressedInto = eventSuppressor.trySuppress(request.getCameraId(), request.getType(), request.getScore());
+        if (suppressedInto != null) {
+            log.debug("중복 탐지 억제: cameraId={}, type={}, eventId={}", request.getCameraId(), request.getType(), suppressedInto.getId());
+            return suppressedInto;
+        }
+        
+        // 카메라 존재 여부 확인 (캐시 적중 시 SELECT 없이 참조만 연결)
+        Camera camera = cameraRegistry.getReference(request.getCameraId());
         
         // 비디오 ID가 제공된 경우 존재 여부 확인
         Video video = null;
@@ -62,8 +113,140 @@ public class EventService {
         }
         
         // 이벤트 생성
+        Event event = buildEvent(idGenerator.generateId(), request, camera, video);
+        
+        Event savedEvent = eventRepository.save(event);
+        log.info("이벤트 생성 완료: id={}, type={}, score={}", savedEvent.getId(), savedEvent.getType(), savedEvent.getScore());
+        eventSuppressor.open(savedEvent, request.getCameraId(), 1, savedEvent.getScore());
+        
+        // SSE 구독자들에게 이벤트 브로드캐스트
+        eventBroadcaster.publish(savedEvent);
+        eventRollupAccumulator.record(savedEvent);
+        
+        return savedEvent;
+    }
+    
+    /**
+     * 여러 이벤트를 하나의 트랜잭션으로 일괄 생성한다.
+     * 카메라/비디오는 각각 한 번의 IN 쿼리로 조회하고, INSERT는 Hibernate JDBC 배치로 묶여 전송된다.
+     * 검증 실패나 존재하지 않는 카메라는 해당 항목만 실패로 기록하고 나머지는 저장한다.
+     */
+    @Transactional
+    public EventBatchResponse createEvents(List<EventCreateRequest> requests) {
+        List<UUID> eventIds = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            eventIds.add(idGenerator.generateId());
+        }
+        return createEvents(requests, eventIds);
+    }
+    
+    /**
+     * 미리 할당된 ID로 이벤트를 일괄 생성한다. (비동기 수집 큐에서 접수 시 응답한 ID를 그대로 사용)
+     */
+    @Transactional
+    public EventBatchResponse createEvents(List<EventCreateRequest> requests, List<UUID> eventIds) {
+        log.info("이벤트 일괄 생성 요청: {}건", requests.size());
+        
+        EventBatchResponse response = new EventBatchResponse();
+        
+        // 항목별 검증 (하나의 잘못된 항목 때문에 전체가 거부되지 않도록 개별 검증)
+        Map<Integer, EventCreateRequest> validRequests = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EventCreateRequest request = requests.get(i);
+            if (request == null) {
+                response.addFailed(i, "요청 항목이 비어 있습니다");
+                continue;
+            }
+            Set<ConstraintViolation<EventCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                response.addFailed(i, violations.iterator().next().getMessage());
+                continue;
+            }
+            // 억제 구간 내의 중복 탐지는 저장하지 않음
+            Event suppressedInto = eventSuppressor.trySuppress(request.getCameraId(), request.getType(), request.getScore());
+            if (suppressedInto != null) {
+                response.addSuppressed(i, suppressedInto.getId());
+                continue;
+            }
+            validRequests.put(i, request);
+        }
+        
+        // 참조되는 카메라/비디오를 한 번에 조회
+        Set<String> cameraIds = new HashSet<>();
+        Set<UUID> videoIds = new HashSet<>();
+        for (EventCreateRequest request : validRequests.values()) {
+            cameraIds.add(request.getCameraId());
+            UUID videoId = parseVideoId(request.getVideoId());
+            if (videoId != null) {
+                videoIds.add(videoId);
+            }
+        }
+        Map<String, Camera> cameras = cameraRegistry.getReferences(cameraIds);
+        Map<UUID, Video> videos = new HashMap<>();
+        if (!videoIds.isEmpty()) {
+            videoRepository.findAllById(videoIds).forEach(video -> videos.put(video.getId(), video));
+        }
+        
+        // 이벤트 생성 (신규 엔티티로 persist 되므로 INSERT 전에 SELECT가 발생하지 않음)
+        List<Integer> indexes = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        Map<String, BatchFold> folds = new HashMap<>();
+        for (Map.Entry<Integer, EventCreateRequest> entry : validRequests.entrySet()) {
+            EventCreateRequest request = entry.getValue();
+            Camera camera = cameras.get(request.getCameraId());
+            if (camera == null) {
+                response.addFailed(entry.getKey(), "카메라를 찾을 수 없습니다: " + request.getCameraId());
+                continue;
+            }
+            
+            // 같은 배치 안의 중복 탐지는 배치 내 첫 이벤트에 합산
+            if (eventSuppressor.isEnabled()) {
+                BatchFold fold = folds.get(request.getCameraId() + '\u0000' + request.getType());
+                if (fold != null) {
+                    fold.count++;
+                    fold.maxScore = Math.max(fold.maxScore, request.getScore());
+                    response.addSuppressed(entry.getKey(), fold.event.getId());
+                    continue;
+                }
+            }
+            
+            // 단건 생성과 동일하게, 찾을 수 없는 비디오는 경고 후 연결하지 않음
+            UUID videoId = parseVideoId(request.getVideoId());
+            Video video = videoId != null ? videos.get(videoId) : null;
+            if (request.getVideoId() != null && video == null) {
+                log.warn("비디오를 찾을 수 없음: {}", request.getVideoId());
+            }
+            
+            Event event = buildEvent(eventIds.get(entry.getKey()), request, camera, video);
+            indexes.add(entry.getKey());
+            events.add(event);
+            if (eventSuppressor.isEnabled()) {
+                folds.put(request.getCameraId() + '\u0000' + request.getType(), new BatchFold(event, request.getCameraId()));
+            }
+        }
+        
+        List<Event> savedEvents = eventRepository.saveAll(events);
+        for (int i = 0; i < savedEvents.size(); i++) {
+            Event savedEvent = savedEvents.get(i);
+            response.addCreated(indexes.get(i), savedEvent.getId());
+            eventBroadcaster.publish(savedEvent);
+            eventRollupAccumulator.record(savedEvent);
+        }
+        
+        // 저장된 이벤트로 억제 구간 시작 (배치 내 합산분 포함)
+        for (BatchFold fold : folds.values()) {
+            eventSuppressor.open(fold.event, fold.cameraId, fold.count, fold.maxScore);
+        }
+        
+        response.getResults().sort(Comparator.comparingInt(EventBatchResponse.ItemResult::getIndex));
+        log.info("이벤트 일괄 생성 완료: 성공={}, 억제={}, 실패={}", response.getCreated(), response.getSuppressed(), response.getFailed());
+        
+        return response;
+    }
+    
+    private Event buildEvent(UUID eventId, EventCreateRequest request, Camera camera, Video video) {
         Event event = new Event();
-        event.setId(UUID.randomUUID());
+        event.setId(eventId);
         event.setCamera(camera);
         event.setVideo(video);
         event.setTs(request.getTs());
@@ -71,25 +254,29 @@ public class EventService {
         event.setSeverity(request.getSeverity());
         event.setScore(request.getScore());
         
-        // 바운딩 박스를 JSON으로 저장
+        // 바운딩 박스는 좌표 컬럼으로 저장
         if (request.getBoundingBox() != null) {
-            String bboxJson = String.format(
-                "{\"x\":%d,\"y\":%d,\"w\":%d,\"h\":%d}",
+            event.setBoundingBox(
                 request.getBoundingBox().getX(),
                 request.getBoundingBox().getY(),
                 request.getBoundingBox().getW(),
                 request.getBoundingBox().getH()
             );
-            event.setBboxJson(bboxJson);
         }
         
-        Event savedEvent = eventRepository.save(event);
-        log.info("이벤트 생성 완료: id={}, type={}, score={}", savedEvent.getId(), savedEvent.getType(), savedEvent.getScore());
-        
-        // SSE 구독자들에게 이벤트 브로드캐스트
-        broadcastEvent(savedEvent);
-        
-        return savedEvent;
+        return event;
+    }
+    
+    private UUID parseVideoId(String videoId) {
+        if (videoId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(videoId);
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 비디오 ID 형식: {}", videoId);
+            return null;
+        }
     }
     
     @Transactional
@@ -97,13 +284,10 @@ public class EventService {
         log.info("통행량 많음 이벤트 생성 요청: {}", request);
         
         // 카메라 존재 여부 확인
-        Camera camera = cameraRepository.findById(request.getCameraId())
-                .orElseThrow(() -> new IllegalArgumentException("카메라를 찾을 수 없습니다: " + request.getCameraId()));
+        Camera camera = cameraRegistry.getReference(request.getCameraId());
         
-        // 카메라 상태를 WARNING으로 변경
-        camera.setStatus(Camera.CameraStatus.WARNING);
-        cameraRepository.save(camera);
-        log.info("카메라 {} 상태를 WARNING으로 변경", request.getCameraId());
+        // 카메라 상태를 WARNING으로 변경 (상태가 바뀌는 경우에만 UPDATE)
+        cameraWarningTracker.onTrafficEvent(request.getCameraId());
         
         // String 타임스탬프를 LocalDateTime으로 변환
         LocalDateTime eventTime;
@@ -116,72 +300,78 @@ public class EventService {
         
         // 이벤트 생성
         Event event = new Event();
-        event.setId(UUID.randomUUID());
+        event.setId(idGenerator.generateId());
         event.setCamera(camera);
         event.setTs(eventTime);
         event.setType(request.getType());
         event.setSeverity(request.getSeverity());
         event.setScore(request.getScore());
         
-        // 바운딩 박스를 JSON으로 저장
+        // 바운딩 박스는 좌표 컬럼으로 저장
         if (request.getBoundingBox() != null) {
-            String bboxJson = String.format(
-                "{\"x\":%d,\"y\":%d,\"w\":%d,\"h\":%d}",
+            event.setBoundingBox(
                 request.getBoundingBox().getX(),
                 request.getBoundingBox().getY(),
                 request.getBoundingBox().getW(),
                 request.getBoundingBox().getH()
             );
-            event.setBboxJson(bboxJson);
         }
         
-        // 차량 수와 메시지를 메타 JSON에 저장
-        String metaJson = String.format(
-            "{\"vehicleCount\":%d,\"message\":\"%s\"}",
-            request.getVehicleCount(),
-            request.getMessage()
-        );
-        event.setMetaJson(metaJson);
+        // 차량 수와 메시지는 컬럼으로 저장 (API의 metaJson에는 계산되어 포함됨)
+        event.setVehicleCount(request.getVehicleCount());
+        event.setMessage(request.getMessage());
         
         Event savedEvent = eventRepository.save(event);
         log.info("통행량 많음 이벤트 생성 완료: id={}, 차량수={}, 메시지={}", 
                 savedEvent.getId(), request.getVehicleCount(), request.getMessage());
         
         // SSE 구독자들에게 이벤트 브로드캐스트
-        broadcastEvent(savedEvent);
+        eventBroadcaster.publish(savedEvent);
+        eventRollupAccumulator.record(savedEvent);
         
         return savedEvent;
     }
     
+    /**
+     * 생성 응답용 DTO로 변환한다. 카메라 이름은 스냅샷 캐시에서 가져와 지연 로딩 카메라 프록시를 초기화하지 않는다.
+     */
+    public EventDTO toDto(Event event) {
+        EventDTO dto = new EventDTO();
+        dto.setId(event.getId());
+        if (event.getCamera() != null) {
+            dto.setCameraId(event.getCamera().getId());
+            CameraRegistry.CameraSnapshot snapshot = cameraRegistry.snapshot(event.getCamera().getId());
+            dto.setCameraName(snapshot != null ? snapshot.name() : null);
+        }
+        dto.setTs(event.getTs());
+        dto.setType(event.getType());
+        dto.setSeverity(event.getSeverity());
+        dto.setScore(event.getScore());
+        dto.setBboxJson(event.getBboxJson());
+        dto.setMetaJson(event.getMetaJson());
+        dto.setCreatedAt(event.getCreatedAt());
+        return dto;
+    }
+    
     public List<Event> getEventsByCamera(String cameraId) {
         return eventRepository.findByCameraIdOrderByTsDesc(cameraId);
     }
     
-    public Page<Event> getEventsWithFilters(String cameraId, String eventType, 
+    /**
+     * 필터 조건을 하나의 쿼리로 조회한다. 시간 범위는 [startDate, endDate)이며 null이면 해당 쪽 제한이 없다.
+     * 결과는 최신순(ts, id 내림차순)으로 정렬되며, 카메라 이름까지 한 번의 쿼리로 읽은 DTO로 반환한다.
+     */
+    public Page<EventDTO> getEventsWithFilters(String cameraId, String eventType, 
             LocalDateTime startDate, LocalDateTime endDate, int minSeverity, Pageable pageable) {
         
         log.info("이벤트 필터링 조회 - 카메라: {}, 타입: {}, 시작: {}, 종료: {}, 최소심각도: {}", 
                 cameraId, eventType, startDate, endDate, minSeverity);
         
         try {
-            // 필터 조건에 따라 적절한 메서드 선택
-            if (cameraId != null && !cameraId.isEmpty() && eventType != null && !eventType.isEmpty()) {
-                // 카메라 ID + 이벤트 타입 + 심각도
-                return eventRepository.findByCameraIdAndTypeAndSeverityGreaterThanEqualOrderByTsDesc(
-                        cameraId, eventType, minSeverity, pageable);
-            } else if (cameraId != null && !cameraId.isEmpty()) {
-                // 카메라 ID + 심각도만
-                return eventRepository.findByCameraIdAndSeverityGreaterThanEqualOrderByTsDesc(
-                        cameraId, minSeverity, pageable);
-            } else if (eventType != null && !eventType.isEmpty()) {
-                // 이벤트 타입 + 심각도만
-                return eventRepository.findByTypeAndSeverityGreaterThanEqualOrderByTsDesc(
-                        eventType, minSeverity, pageable);
-            } else {
-                // 심각도만
-                return eventRepository.findBySeverityGreaterThanEqualOrderByTsDesc(
-                        minSeverity, pageable);
-            }
+            Specification<Event> spec = EventSpecifications.filter(cameraId, eventType, minSeverity, startDate, endDate);
+            // 같은 시각의 이벤트도 페이지 간 순서가 바뀌지 않도록 id를 보조 정렬 키로 사용
+            Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), LATEST_FIRST);
+            return eventRepository.findDtoPage(spec, sorted);
         } catch (Exception e) {
             log.error("이벤트 필터링 조회 실패", e);
             // 오류 발생 시 빈 페이지 반환
@@ -189,60 +379,101 @@ public class EventService {
         }
     }
     
-    public SseEmitter subscribeToEvents() {
-        SseEmitter emitter = new SseEmitter(0L); // 무한 타임아웃
-        emitters.add(emitter);
-        
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError((ex) -> emitters.remove(emitter));
+    /**
+     * 정확한 전체 건수 없이 목록을 조회한다. size+1건을 읽어 다음 페이지 여부만 판단하고(COUNT 쿼리 없음),
+     * estimate이면 countEstimateThreshold건까지는 정확히 세고 그 이상은 추정값을 함께 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public EventPageResponse getEventsWithoutExactCount(String cameraId, String eventType, LocalDateTime startDate,
+            LocalDateTime endDate, int minSeverity, Pageable pageable, boolean estimate) {
+        Specification<Event> spec = EventSpecifications.filter(cameraId, eventType, minSeverity, startDate, endDate);
+        Slice<EventDTO> slice = eventRepository.findDtoSlice(spec,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), LATEST_FIRST));
         
-        // 즉시 연결 확인 메시지 전송
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("connected")
-                    .data("SSE 연결 성공"));
-        } catch (IOException e) {
-            log.warn("SSE 초기 연결 메시지 전송 실패", e);
-            emitters.remove(emitter);
+        Long total = null;
+        Boolean exact = null;
+        if (estimate) {
+            EventRepositoryCustom.CountEstimate count = eventRepository.estimateCount(
+                    cameraId, eventType, minSeverity, startDate, endDate, countEstimateThreshold);
+            total = count.count();
+            exact = count.exact();
         }
+        return new EventPageResponse(slice.getContent(),
+                slice.getNumber(), slice.getSize(), slice.hasNext(), total, exact);
+    }
+    
+    /**
+     * 커서 기반 목록 조회. OFFSET 없이 커서 위치부터 인덱스를 따라 size+1건만 읽으므로 깊은 페이지도 첫 페이지와 비용이 같다.
+     * 다음 페이지 요청에는 같은 필터와 응답의 nextCursor를 넘겨야 한다. 전체 건수는 includeCount일 때만 센다.
+     *
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    @Transactional(readOnly = true)
+    public EventScrollResponse scrollEvents(String cameraId, String eventType, LocalDateTime startDate,
+            LocalDateTime endDate, int minSeverity, String cursor, int size, boolean includeCount) {
+        Specification<Event> filter = EventSpecifications.filter(cameraId, eventType, minSeverity, startDate, endDate);
+        EventCursor after = cursor != null && !cursor.isEmpty() ? EventCursor.decode(cursor) : null;
         
-        log.info("SSE 구독 추가: 현재 구독자 수 = {}", emitters.size());
+        // 한 건 더 읽어 다음 페이지 존재 여부 판단
+        List<EventDTO> rows = eventRepository.findDtoList(filter.and(EventSpecifications.after(after)), LATEST_FIRST, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<EventDTO> page = hasNext ? rows.subList(0, size) : rows;
         
-        return emitter;
+        String nextCursor = null;
+        if (hasNext) {
+            EventDTO last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(last.getTs(), last.getId()).encode();
+        }
+        Long total = includeCount ? eventRepository.count(filter) : null;
+        return new EventScrollResponse(page, nextCursor, hasNext, total);
     }
     
-    private void broadcastEvent(Event event) {
-        emitters.removeIf(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("event")
-                        .data(event));
-                return false;
-            } catch (IOException e) {
-                log.warn("SSE 이벤트 전송 실패", e);
-                return true;
-            }
-        });
-        
-        log.info("이벤트 브로드캐스트 완료: 구독자 수 = {}", emitters.size());
-    }
-    
-    // 10초마다 하트비트 전송으로 연결 유지
-    @Scheduled(fixedRate = 10000)
-    public void sendHeartbeat() {
-        if (!emitters.isEmpty()) {
-            emitters.removeIf(emitter -> {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("heartbeat")
-                            .data(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
-                    return false;
-                } catch (IOException e) {
-                    log.debug("하트비트 전송 실패 - 연결 제거");
-                    return true;
-                }
-            });
+    /**
+     * 구간별 이벤트 통계. 이벤트 대신 event_rollups만 읽으므로 기간이 길어도 비용은 구간 수에 비례한다.
+     * 시간 범위는 [startDate, endDate)이며 구간 단위로 내림/올림하여 조회한다. 최근 반영 주기 동안의 이벤트는 아직 포함되지 않을 수 있다.
+     *
+     * @throws IllegalArgumentException 범위가 비었거나 구간 수가 한도를 넘는 경우
+     */
+    @Transactional(readOnly = true)
+    public List<EventStatsDTO> getEventStats(EventRollup.Granularity granularity, LocalDateTime startDate,
+            LocalDateTime endDate, String cameraId, String eventType,
+            boolean byCamera, boolean byType, boolean bySeverity) {
+        LocalDateTime from = granularity.truncate(startDate);
+        LocalDateTime to = granularity.truncate(endDate);
+        if (to.isBefore(endDate)) {
+            to = to.plus(1, granularity.getUnit());
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("종료 시각은 시작 시각 이후여야 합니다");
+        }
+        long buckets = Duration.between(from, to).dividedBy(granularity.getUnit().getDuration());
+        if (buckets > maxStatsBuckets) {
+            throw new IllegalArgumentException("조회 구간 수(" + buckets + ")가 한도(" + maxStatsBuckets
+                    + ")를 넘습니다. 기간을 줄이거나 더 큰 단위를 사용하세요");
+        }
+        return eventRollupRepository.aggregate(granularity, from, to, cameraId, eventType,
+                byCamera, byType, bySeverity);
+    }
+    
+    public SseEmitter subscribeToEvents(EventBroadcaster.SubscriptionFilter filter, String lastEventId) {
+        return eventBroadcaster.subscribe(filter, lastEventId);
+    }
+    
+    public SseEmitter subscribeToCameraTiles(Set<String> cameraIds) {
+        return eventBroadcaster.subscribeTiles(cameraIds);
+    }
+    
+    // 배치 내 (cameraId, type)별 첫 이벤트와 합산된 탐지 수
+    private static class BatchFold {
+        private final Event event;
+        private final String cameraId;
+        private int count = 1;
+        private double maxScore;
+        
+        BatchFold(Event event, String cameraId) {
+            this.event = event;
+            this.cameraId = cameraId;
+            this.maxScore = event.getScore();
         }
     }
 }
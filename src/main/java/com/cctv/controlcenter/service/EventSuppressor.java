@@ -0,0 +1,230 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.repository.EventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 카메라/이벤트 타입별 중복 탐지 억제.
+ * 억제 구간 동안 같은 (cameraId, type)의 이벤트는 새로 저장하지 않고 구간의 첫 이벤트에
+ * 발생 횟수(occurrences)와 최대 점수(maxScore)로 합산한 뒤, 구간이 닫힐 때 metaJson에 기록한다.
+ */
+@Component
+public class EventSuppressor {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventSuppressor.class);
+    
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${cctv.events.suppression.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${cctv.events.suppression.window-ms:1000}")
+    private long windowMs;
+    
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    
+    // 새 구간으로 교체되어 다음 flush에서 기록할 만료 구간
+    private final Queue<Window> retired = new ConcurrentLinkedQueue<>();
+    
+    public EventSuppressor(EventRepository eventRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 열린 억제 구간이 있으면 탐지를 메모리에서 합산하고 구간의 첫 이벤트를 반환한다. 없으면 null.
+     * 구간은 이벤트 커밋 이후에 열리므로 DB를 조회하지 않는다 (드물게 이벤트가 사라진 경우는 기록 시 확인).
+     */
+    public Event trySuppress(String cameraId, String type, double score) {
+        if (!enabled) {
+            return null;
+        }
+        Window window = windows.get(key(cameraId, type));
+        if (window == null || window.isExpired(System.currentTimeMillis(), windowMs)) {
+            return null;
+        }
+        return window.fold(1, score) ? window.event : null;
+    }
+    
+    /**
+     * 저장된 이벤트로 억제 구간을 연다. 다른 트랜잭션에서 조회 가능하도록 커밋 이후에 등록한다.
+     * count/maxScore는 같은 배치 안에서 이미 합산된 탐지를 포함한 값이다.
+     */
+    public void open(Event event, String cameraId, int count, double maxScore) {
+        if (!enabled) {
+            return;
+        }
+        Runnable register = () -> windows.compute(key(cameraId, event.getType()), (key, previous) -> {
+            long now = System.currentTimeMillis();
+            if (previous != null && !previous.isExpired(now, windowMs)) {
+                // 동시에 저장된 첫 이벤트가 이미 구간을 열었다면 그 구간을 유지하고, 합산분만 반영
+                if (count <= 1 || previous.fold(count - 1, maxScore)) {
+                    return previous;
+                }
+            } else if (previous != null) {
+                // 만료됐지만 아직 기록되지 않은 구간은 닫아서 다음 flush에서 기록하고 새 구간으로 교체
+                retired.add(previous);
+            }
+            return new Window(event, count, maxScore, now);
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register.run();
+                }
+            });
+        } else {
+            register.run();
+        }
+    }
+    
+    /**
+     * 닫힌 억제 구간의 합산 결과를 DB에 기록한다.
+     */
+    @Scheduled(fixedDelayString = "${cctv.events.suppression.flush-interval-ms:200}")
+    public void flushExpired() {
+        if (!enabled || (windows.isEmpty() && retired.isEmpty())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Window> closed = new ArrayList<>();
+        drainRetired(closed);
+        windows.forEach((key, window) -> {
+            if (window.isExpired(now, windowMs) && windows.remove(key, window)) {
+                closed.add(window);
+            }
+        });
+        flush(closed);
+    }
+    
+    @PreDestroy
+    public void flushAll() {
+        List<Window> closed = new ArrayList<>();
+        drainRetired(closed);
+        windows.forEach((key, window) -> {
+            if (windows.remove(key, window)) {
+                closed.add(window);
+            }
+        });
+        flush(closed);
+    }
+    
+    private void drainRetired(List<Window> closed) {
+        Window window;
+        while ((window = retired.poll()) != null) {
+            closed.add(window);
+        }
+    }
+    
+    private void flush(List<Window> closed) {
+        List<Window> folded = new ArrayList<>();
+        for (Window window : closed) {
+            if (window.close() > 1) {
+                folded.add(window);
+            }
+        }
+        if (folded.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Window window : folded) {
+                    if (eventRepository.updateMetaJson(window.event.getId(), buildMetaJson(window)) == 0) {
+                        log.warn("억제 구간의 이벤트가 없어 합산 결과를 기록하지 못함: eventId={}, occurrences={}",
+                                window.event.getId(), window.count);
+                    }
+                }
+            });
+            log.debug("억제 구간 기록 완료: {}건", folded.size());
+        } catch (Exception e) {
+            log.error("억제 구간 기록 실패: {}건", folded.size(), e);
+        }
+    }
+    
+    private String buildMetaJson(Window window) {
+        ObjectNode meta = objectMapper.createObjectNode();
+        String metaJson = window.event.getMetaJson();
+        if (metaJson != null) {
+            try {
+                JsonNode existing = objectMapper.readTree(metaJson);
+                if (existing.isObject()) {
+                    meta = (ObjectNode) existing;
+                }
+            } catch (Exception e) {
+                log.warn("기존 메타 JSON 파싱 실패, 덮어씀: eventId={}", window.event.getId());
+            }
+        }
+        meta.put("occurrences", window.count);
+        meta.put("maxScore", window.maxScore);
+        return meta.toString();
+    }
+    
+    private static String key(String cameraId, String type) {
+        return cameraId + '\u0000' + type;
+    }
+    
+    private static class Window {
+        // 구간의 첫 이벤트 (커밋 후 분리된 엔티티, 읽기 전용으로만 사용)
+        private final Event event;
+        private final long openedAt;
+        private int count;
+        private double maxScore;
+        private boolean closed;
+        
+        Window(Event event, int count, double maxScore, long openedAt) {
+            this.event = event;
+            this.count = count;
+            this.maxScore = maxScore;
+            this.openedAt = openedAt;
+        }
+        
+        boolean isExpired(long now, long windowMs) {
+            return now - openedAt >= windowMs;
+        }
+        
+        // 닫힌 구간에는 합산하지 않음 (호출자는 새 이벤트로 저장)
+        synchronized boolean fold(int occurrences, double score) {
+            if (closed) {
+                return false;
+            }
+            count += occurrences;
+            maxScore = Math.max(maxScore, score);
+            return true;
+        }
+        
+        synchronized int close() {
+            closed = true;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.api.dto.EventBatchResponse;
+import com.cctv.controlcenter.api.dto.EventCreateRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.IdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기(write-behind) 이벤트 수집 큐.
+ * 접수된 이벤트는 제한된 크기의 메모리 큐에 쌓이고, 전용 writer 스레드가
+ * N건 또는 T밀리초 단위로 모아서 하나의 트랜잭션으로 커밋(group commit)한다.
+ * 이미 202로 접수 응답한 이벤트이므로, 배치 커밋이 실패하면 간격을 늘려 가며 다시 시도하고
+ * 그래도 실패하면 건별로 저장한다. 건별 저장도 실패한 이벤트는 유실로 집계하고 ID를 로그로 남긴다.
+ */
+@Component
+public class EventWriteBehindQueue {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBehindQueue.class);
+    
+    private final EventService eventService;
+    private final IdGenerator idGenerator;
+    
+    @Value("${cctv.ingest.write-behind.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${cctv.ingest.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${cctv.ingest.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+    
+    @Value("${cctv.ingest.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+    
+    @Value("${cctv.ingest.write-behind.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+    
+    @Value("${cctv.ingest.write-behind.retry.backoff-ms:100}")
+    private long retryBackoffMs;
+    
+    private BlockingQueue<PendingEvent> queue;
+    private Thread writer;
+    private volatile boolean running;
+    
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter lostCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private final MeterRegistry meterRegistry;
+    
+    public EventWriteBehindQueue(EventService eventService, IdGenerator idGenerator, MeterRegistry meterRegistry) {
+        this.eventService = eventService;
+        this.idGenerator = idGenerator;
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("cctv.ingest.write_behind.rejected")
+                .description("큐가 가득 차서 거부된 이벤트 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cctv.ingest.write_behind.failed")
+                .description("저장에 실패한 이벤트 수")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("cctv.ingest.write_behind.retried")
+                .description("커밋 실패로 다시 시도한 배치 수")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("cctv.ingest.write_behind.lost")
+                .description("재시도와 건별 저장까지 실패하여 유실된 접수 이벤트 수")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("cctv.ingest.write_behind.batch_size")
+                .description("한 번의 커밋으로 저장된 이벤트 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("cctv.ingest.write_behind.flush_latency")
+                .description("배치 저장(커밋 포함) 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("cctv.ingest.write_behind.queue_depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        
+        running = true;
+        writer = new Thread(this::drainLoop, "event-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("비동기 이벤트 수집 활성화: 큐 크기={}, 배치 크기={}, 플러시 주기={}ms",
+                queueCapacity, maxBatchSize, flushIntervalMs);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // 남아 있는 이벤트를 모두 저장한 뒤 종료
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        log.info("비동기 이벤트 수집 종료: 미처리 이벤트 {}건", queue.size());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 이벤트를 큐에 넣고 할당된 이벤트 ID를 반환한다. 큐가 가득 찬 경우 null.
+     */
+    public UUID enqueue(EventCreateRequest request) {
+        UUID eventId = idGenerator.generateId();
+        if (!queue.offer(new PendingEvent(eventId, request, System.nanoTime()))) {
+            rejectedCounter.increment();
+            log.warn("이벤트 수집 큐가 가득 참: 카메라={}", request.getCameraId());
+            return null;
+        }
+        return eventId;
+    }
+    
+    private void drainLoop() {
+        List<PendingEvent> batch = new ArrayList<>(maxBatchSize);
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // 첫 이벤트 접수 시점부터 최대 T밀리초까지, 또는 N건이 모일 때까지 수집
+                long deadline = first.acceptedAt() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void flush(List<PendingEvent> batch) {
+        List<EventCreateRequest> requests = new ArrayList<>(batch.size());
+        List<UUID> eventIds = new ArrayList<>(batch.size());
+        for (PendingEvent pending : batch) {
+            requests.add(pending.request());
+            eventIds.add(pending.eventId());
+        }
+        
+        long start = System.nanoTime();
+        try {
+            // createEvents는 하나의 트랜잭션이므로 실패 시 전체가 롤백되어 같은 ID로 다시 저장할 수 있음
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    recordItemFailures(eventService.createEvents(requests, eventIds), eventIds);
+                    return;
+                } catch (Exception e) {
+                    if (attempt >= retryMaxAttempts || !backoff(attempt)) {
+                        log.error("비동기 이벤트 배치 저장 실패 ({}회 시도), 건별 저장으로 전환: {}건", attempt, batch.size(), e);
+                        break;
+                    }
+                    retriedCounter.increment();
+                    log.warn("비동기 이벤트 배치 저장 실패, 재시도 {}/{}: {}", attempt, retryMaxAttempts - 1, e.getMessage());
+                }
+            }
+            saveIndividually(requests, eventIds);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+    
+    // 배치를 실패시킨 항목만 유실되도록 한 건씩 별도 트랜잭션으로 저장
+    private void saveIndividually(List<EventCreateRequest> requests, List<UUID> eventIds) {
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                recordItemFailures(eventService.createEvents(List.of(requests.get(i)), List.of(eventIds.get(i))),
+                        List.of(eventIds.get(i)));
+            } catch (Exception e) {
+                failedCounter.increment();
+                lostCounter.increment();
+                log.error("접수된 비동기 이벤트 유실: id={}, 카메라={}, 사유={}",
+                        eventIds.get(i), requests.get(i).getCameraId(), e.getMessage());
+            }
+        }
+    }
+    
+    // 검증 실패 등 항목별로 거부된 이벤트 (다시 시도해도 같은 결과이므로 재시도하지 않음)
+    private void recordItemFailures(EventBatchResponse response, List<UUID> eventIds) {
+        if (response.getFailed() > 0) {
+            failedCounter.increment(response.getFailed());
+            response.getResults().stream()
+                    .filter(result -> !result.isSuccess())
+                    .forEach(result -> log.warn("비동기 이벤트 저장 실패: id={}, 사유={}",
+                            eventIds.get(result.getIndex()), result.getError()));
+        }
+    }
+    
+    /**
+     * 재시도 전 대기 (retryBackoffMs * 2^(attempt-1)). 종료 중 인터럽트되면 false.
+     */
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs << Math.min(attempt - 1, 10));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private record PendingEvent(UUID eventId, EventCreateRequest request, long acceptedAt) {}
+}
@@ -0,0 +1,92 @@
+package com.cctv.controlcenter.service;
+
+import com.cctv.controlcenter.dto.EventDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 리액티브 이벤트 스트림 (GET /api/events/stream/reactive).
+ * {@link EventBroadcaster}가 직렬화한 프레임을 멀티캐스트 싱크로 내보내며, 구독자마다
+ * 배압 전략(최신 프레임만 유지 또는 제한 버퍼)을 적용하여 느린 구독자가 다른 구독자를 막지 않는다.
+ * push 프로필(Netty)로 실행하면 구독 연결이 서블릿 스레드/비동기 컨텍스트를 점유하지 않는다.
+ */
+@Component
+public class ReactiveEventStream {
+    
+    private final Sinks.Many<Frame> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    @Value("${cctv.events.stream.reactive.buffer-size:256}")
+    private int defaultBufferSize;
+    
+    public ReactiveEventStream(MeterRegistry meterRegistry) {
+        Gauge.builder("cctv.events.stream.reactive.subscribers", subscriberCount, AtomicInteger::get)
+                .description("리액티브 스트림 구독자 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 필터에 맞는 이벤트와 하트비트를 내보내는 구독 스트림.
+     *
+     * @param overflow latest: 밀린 경우 최신 프레임만 유지, buffer: bufferSize까지 쌓고 오래된 프레임부터 버림
+     */
+    public Flux<ServerSentEvent<String>> subscribe(EventBroadcaster.SubscriptionFilter filter, String overflow,
+            Integer bufferSize) {
+        Flux<ServerSentEvent<String>> frames = sink.asFlux()
+                .filter(frame -> frame.event() == null || filter.matches(frame.event()))
+                .map(Frame::sse);
+        
+        switch (overflow) {
+            case "latest":
+                frames = frames.onBackpressureLatest();
+                break;
+            case "buffer":
+                int size = bufferSize != null ? bufferSize : defaultBufferSize;
+                if (size < 1) {
+                    throw new IllegalArgumentException("버퍼 크기는 1 이상이어야 합니다: " + size);
+                }
+                frames = frames.onBackpressureBuffer(size, BufferOverflowStrategy.DROP_OLDEST);
+                break;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 배압 전략입니다: " + overflow);
+        }
+        
+        ServerSentEvent<String> connected = ServerSentEvent.<String>builder()
+                .event("connected")
+                .data("SSE 연결 성공")
+                .build();
+        return Flux.concat(Flux.just(connected), frames)
+                .doOnSubscribe(subscription -> subscriberCount.incrementAndGet())
+                .doFinally(signal -> subscriberCount.decrementAndGet());
+    }
+    
+    public boolean hasSubscribers() {
+        return sink.currentSubscriberCount() > 0;
+    }
+    
+    // 싱크에는 한 번에 한 스레드만 내보낼 수 있으므로 동기화 (하트비트와 이벤트가 서로 다른 스레드에서 호출됨)
+    synchronized void emitEvent(EventDTO event, String id, String json) {
+        sink.tryEmitNext(new Frame(event, ServerSentEvent.<String>builder()
+                .id(id)
+                .event("event")
+                .data(json)
+                .build()));
+    }
+    
+    synchronized void emitHeartbeat(String timestamp) {
+        sink.tryEmitNext(new Frame(null, ServerSentEvent.<String>builder()
+                .event("heartbeat")
+                .data(timestamp)
+                .build()));
+    }
+    
+    private record Frame(EventDTO event, ServerSentEvent<String> sse) {}
+}
@@ -0,0 +1,80 @@
+package com.cctv.controlcenter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 해시 타이머 휠.
+ * 항목을 만료 틱이 속한 칸에 넣고, {@link #advance(long, Consumer)}가 지나간 칸에서 만료된 항목만 꺼낸다.
+ * 따라서 틱마다 드는 비용은 전체 항목 수가 아니라 그 틱에 만료되는 항목 수에 비례한다.
+ * 휠 한 바퀴보다 먼 항목은 칸에 남아 있다가 해당 바퀴에서 만료된다.
+ * schedule은 여러 스레드에서 호출할 수 있고, advance는 한 스레드에서만 호출해야 한다.
+ */
+final class TimerWheel<T> {
+    
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    private final List<Entry<T>>[] buckets;
+    private final int mask;
+    private volatile long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int ticksPerWheel) {
+        if (tickMillis < 1 || ticksPerWheel < 1) {
+            throw new IllegalArgumentException("잘못된 타이머 휠 설정: tick=" + tickMillis + "ms, 칸 수=" + ticksPerWheel);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * deadlineNanos(System.nanoTime 기준) 이후 첫 틱에 만료되도록 등록한다. 이미 지난 시각이면 다음 틱에 만료된다.
+     */
+    void schedule(T item, long deadlineNanos) {
+        long tick = Math.max((deadlineNanos - startNanos + tickNanos - 1) / tickNanos, currentTick + 1);
+        List<Entry<T>> bucket = buckets[(int) (tick & mask)];
+        synchronized (bucket) {
+            bucket.add(new Entry<>(item, tick));
+        }
+    }
+    
+    /**
+     * nowNanos까지의 틱을 진행하며 만료된 항목을 expired로 넘긴다. expired 안에서 다시 schedule해도 된다.
+     */
+    void advance(long nowNanos, Consumer<T> expired) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            // 먼저 틱을 올려 이후 등록되는 항목이 지금 비우는 칸에 들어가지 않게 함
+            // (직전 값을 읽은 동시 등록은 한 바퀴 늦게 만료될 수 있음)
+            long tick = currentTick + 1;
+            currentTick = tick;
+            List<Entry<T>> bucket = buckets[(int) (tick & mask)];
+            synchronized (bucket) {
+                // 만료된 항목을 꺼내고 다음 바퀴 항목은 남김 (순서는 유지하지 않음)
+                for (int i = bucket.size() - 1; i >= 0; i--) {
+                    Entry<T> entry = bucket.get(i);
+                    if (entry.tick() <= tick) {
+                        due.add(entry.item());
+                        int last = bucket.size() - 1;
+                        bucket.set(i, bucket.get(last));
+                        bucket.remove(last);
+                    }
+                }
+            }
+            for (T item : due) {
+                expired.accept(item);
+            }
+            due.clear();
+        }
+    }
+    
+    private record Entry<T>(T item, long tick) {}
+}
@@ -3,7 +3,6 @@ package com.cctv.controlcenter.service;
 import com.cctv.controlcenter.api.dto.VideoCreateRequest;
 import com.cctv.controlcenter.domain.Camera;
 import com.cctv.controlcenter.domain.Video;
-import com.cctv.controlcenter.repository.CameraRepository;
 import com.cctv.controlcenter.repository.VideoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +11,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.IdGenerator;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -28,11 +28,13 @@ public class VideoService {
     private static final Logger log = LoggerFactory.getLogger(VideoService.class);
     
     private final VideoRepository videoRepository;
-    private final CameraRepository cameraRepository;
+    private final CameraRegistry cameraRegistry;
+    private final IdGenerator idGenerator;
     
-    public VideoService(VideoRepository videoRepository, CameraRepository cameraRepository) {
+    public VideoService(VideoRepository videoRepository, CameraRegistry cameraRegistry, IdGenerator idGenerator) {
         this.videoRepository = videoRepository;
-        this.cameraRepository = cameraRepository;
+        this.cameraRegistry = cameraRegistry;
+        this.idGenerator = idGenerator;
     }
     
     @Transactional
@@ -41,12 +43,11 @@ public class VideoService {
                 request.getCameraId(), request.getPath());
         
         // 카메라 존재 여부 확인
-        Camera camera = cameraRepository.findById(request.getCameraId())
-                .orElseThrow(() -> new IllegalArgumentException("카메라를 찾을 수 없습니다: " + request.getCameraId()));
+        Camera camera = cameraRegistry.getReference(request.getCameraId());
         
         // 비디오 생성
         Video video = new Video();
-        video.setId(UUID.randomUUID());
+        video.setId(idGenerator.generateId());
         video.setCamera(camera);
         video.setStartTs(request.getStartTs());
         video.setEndTs(request.getEndTs());
@@ -0,0 +1,184 @@
+/**
+ * /api/events/ws 바이너리 이벤트 메시지 디코더.
+ * 형식은 서버의 EventPushCodec 참고. 연결마다 디코더를 하나 만들고 받은 순서대로 decode()에 넘긴다.
+ *
+ *   const socket = new WebSocket('ws://host/api/events/ws');
+ *   socket.binaryType = 'arraybuffer';
+ *   const decoder = new EventPushDecoder();
+ *   socket.onopen = () => socket.send(JSON.stringify({ op: 'subscribe', id: 1, cameraIds: ['cam-001'] }));
+ *   socket.onmessage = (message) => {
+ *     if (typeof message.data === 'string') return; // 제어 응답 (subscribed/unsubscribed/error)
+ *     for (const event of decoder.decode(message.data)) { ... }
+ *   };
+ */
+(function (root) {
+  'use strict';
+
+  const RECORD_CAMERA = 0x01;
+  const RECORD_TYPE = 0x02;
+  const RECORD_EVENT = 0x03;
+  const RECORD_HEARTBEAT = 0x04;
+  const RECORD_RESET = 0x05;
+
+  const FLAG_SEVERITY = 0x01;
+  const FLAG_SCORE = 0x02;
+  const FLAG_BBOX = 0x04;
+  const FLAG_META = 0x08;
+
+  const utf8 = new TextDecoder('utf-8');
+
+  class EventPushDecoder {
+    constructor() {
+      this.cameras = [];
+      this.types = [];
+      this.lastTs = 0;
+    }
+
+    /**
+     * @param {ArrayBuffer} buffer 바이너리 메시지
+     * @returns {Array<Object>} 메시지에 담긴 이벤트
+     */
+    decode(buffer) {
+      const reader = new Reader(buffer);
+      const events = [];
+      while (reader.hasRemaining()) {
+        const record = reader.uint8();
+        switch (record) {
+          case RECORD_CAMERA:
+            define(this.cameras, reader.varint(), { id: reader.string(), name: reader.string() });
+            break;
+          case RECORD_TYPE:
+            define(this.types, reader.varint(), reader.string());
+            break;
+          case RECORD_EVENT:
+            events.push(this.readEvent(reader));
+            break;
+          case RECORD_HEARTBEAT:
+            break;
+          case RECORD_RESET:
+            this.cameras = [];
+            this.types = [];
+            break;
+          default:
+            throw new Error('알 수 없는 레코드: ' + record);
+        }
+      }
+      return events;
+    }
+
+    readEvent(reader) {
+      const subscriptionIds = [];
+      for (let count = reader.varint(); count > 0; count--) {
+        subscriptionIds.push(reader.varint());
+      }
+      const id = reader.uuid();
+      const camera = lookup(this.cameras, reader.varint());
+      const type = lookup(this.types, reader.varint());
+      this.lastTs += reader.zigzag();
+
+      const flags = reader.uint8();
+      const event = {
+        subscriptionIds,
+        id,
+        cameraId: camera.id,
+        cameraName: camera.name || null,
+        type,
+        ts: new Date(this.lastTs),
+        severity: null,
+        score: null,
+        bbox: null,
+        meta: null,
+      };
+      if (flags & FLAG_SEVERITY) {
+        event.severity = reader.uint8();
+      }
+      if (flags & FLAG_SCORE) {
+        event.score = reader.float32();
+      }
+      if (flags & FLAG_BBOX) {
+        event.bbox = { x: reader.zigzag(), y: reader.zigzag(), w: reader.zigzag(), h: reader.zigzag() };
+      }
+      if (flags & FLAG_META) {
+        event.meta = JSON.parse(reader.string());
+      }
+      return event;
+    }
+  }
+
+  function define(dictionary, index, value) {
+    if (index !== dictionary.length) {
+      throw new Error('사전 번호가 순서에 맞지 않습니다: ' + index);
+    }
+    dictionary.push(value);
+  }
+
+  function lookup(dictionary, index) {
+    if (index >= dictionary.length) {
+      throw new Error('정의되지 않은 사전 번호: ' + index);
+    }
+    return dictionary[index];
+  }
+
+  class Reader {
+    constructor(buffer) {
+      this.view = new DataView(buffer);
+      this.bytes = new Uint8Array(buffer);
+      this.position = 0;
+    }
+
+    hasRemaining() {
+      return this.position < this.view.byteLength;
+    }
+
+    uint8() {
+      return this.view.getUint8(this.position++);
+    }
+
+    float32() {
+      const value = this.view.getFloat32(this.position);
+      this.position += 4;
+      return value;
+    }
+
+    // 시각 차이는 32비트를 넘을 수 있으므로 비트 연산 대신 곱셈으로 계산 (2^53까지 정확)
+    varint() {
+      let value = 0;
+      let scale = 1;
+      for (;;) {
+        const b = this.uint8();
+        value += (b & 0x7f) * scale;
+        if ((b & 0x80) === 0) {
+          return value;
+        }
+        scale *= 128;
+      }
+    }
+
+    zigzag() {
+      const value = this.varint();
+      return value % 2 === 0 ? value / 2 : -(value + 1) / 2;
+    }
+
+    string() {
+      const length = this.varint();
+      const value = utf8.decode(this.bytes.subarray(this.position, this.position + length));
+      this.position += length;
+      return value;
+    }
+
+    uuid() {
+      let hex = '';
+      for (let i = 0; i < 16; i++) {
+        hex += this.uint8().toString(16).padStart(2, '0');
+      }
+      return hex.slice(0, 8) + '-' + hex.slice(8, 12) + '-' + hex.slice(12, 16) + '-'
+          + hex.slice(16, 20) + '-' + hex.slice(20);
+    }
+  }
+
+  if (typeof module !== 'undefined' && module.exports) {
+    module.exports = EventPushDecoder;
+  } else {
+    root.EventPushDecoder = EventPushDecoder;
+  }
+})(typeof self !== 'undefined' ? self : this);
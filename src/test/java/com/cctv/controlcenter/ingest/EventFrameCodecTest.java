@@ -0,0 +1,52 @@
+package com.cctv.controlcenter.ingest;
+
+import com.cctv.controlcenter.api.dto.EventCreateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventFrameCodecTest {
+
+    @Test
+    void decodesEventTimeInConfiguredZoneRegardlessOfJvmDefault() {
+        TimeZone original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(EventFrameCodec.MAX_FRAME_SIZE);
+            EventFrameCodec.encode(buffer, 42, Instant.parse("2026-10-17T01:00:00Z").toEpochMilli(),
+                    "cam-001", "VEHICLE", 3, 0.75f, new int[] {10, 20, 30, 40});
+            buffer.flip();
+
+            EventFrameCodec.Frame frame = EventFrameCodec.decode(buffer, ZoneId.of("Asia/Seoul"));
+
+            assertThat(frame.seq()).isEqualTo(42);
+            EventCreateRequest request = frame.request();
+            assertThat(request.getTs()).isEqualTo(LocalDateTime.of(2026, 10, 17, 10, 0));
+            assertThat(request.getCameraId()).isEqualTo("cam-001");
+            assertThat(request.getType()).isEqualTo("VEHICLE");
+            assertThat(request.getSeverity()).isEqualTo(3);
+            assertThat(request.getScore()).isEqualTo(0.75);
+            assertThat(request.getBoundingBox().getW()).isEqualTo(30);
+            assertThat(buffer.hasRemaining()).isFalse();
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    void returnsNullUntilFrameIsComplete() {
+        ByteBuffer full = ByteBuffer.allocate(EventFrameCodec.MAX_FRAME_SIZE);
+        EventFrameCodec.encode(full, 1, 0, "cam-001", "VEHICLE", 1, 0.5f, null);
+        full.flip();
+        ByteBuffer partial = ByteBuffer.wrap(full.array(), 0, full.limit() - 1);
+
+        assertThat(EventFrameCodec.decode(partial, ZoneId.of("Asia/Seoul"))).isNull();
+        assertThat(partial.position()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.cctv.controlcenter.ingest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 처리량 비교: 같은 이벤트를 TCP 바이너리 채널과 POST /api/events로 각각 전송한다.
+ * 배포 jar에 포함되지 않도록 테스트 소스에 둔다.
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes com.cctv.controlcenter.ingest.IngestThroughputBenchmark \
+ *     localhost 9090 http://localhost:8080 cam-001 10000
+ * </pre>
+ * HTTP는 2xx 응답만 성공으로 센다. TCP는 거부된 프레임도 ACK되므로 ACK된 프레임 수를 보고하며,
+ * 실제 저장 건수는 서버의 {@code cctv.ingest.tcp.rejected_frames} 지표와 함께 확인한다.
+ */
+public final class IngestThroughputBenchmark {
+
+    private IngestThroughputBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+        String baseUrl = args.length > 2 ? args[2] : "http://localhost:8080";
+        String cameraId = args.length > 3 ? args[3] : "cam-001";
+        int count = args.length > 4 ? Integer.parseInt(args[4]) : 10000;
+
+        long start = System.nanoTime();
+        long acked;
+        try (BinaryIngestClient client = new BinaryIngestClient(host, port)) {
+            long firstSeq = 0;
+            long lastSeq = 0;
+            for (int i = 0; i < count; i++) {
+                lastSeq = client.send(cameraId, System.currentTimeMillis(), "bench", 1, 0.5, new int[] {10, 20, 30, 40});
+                if (i == 0) {
+                    firstSeq = lastSeq;
+                }
+            }
+            client.flush();
+            if (!client.awaitAck(lastSeq, TimeUnit.MINUTES.toMillis(5))) {
+                System.out.println("TCP: ACK 대기 시간 초과 (ACK seq=" + client.getAckedSeq() + ")");
+            }
+            acked = Math.max(0, client.getAckedSeq() - firstSeq + 1);
+        }
+        report("TCP 바이너리 채널 (ACK)", count, acked, System.nanoTime() - start);
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        URI uri = URI.create(baseUrl + "/api/events");
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+        long succeeded = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String body = "{\"cameraId\":\"" + cameraId + "\",\"type\":\"bench\",\"severity\":1,\"score\":0.5,"
+                    + "\"ts\":\"" + LocalDateTime.now().format(formatter) + "\","
+                    + "\"boundingBox\":{\"x\":10,\"y\":20,\"w\":30,\"h\":40}}";
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status < 300) {
+                succeeded++;
+            }
+        }
+        report("POST /api/events (2xx)", count, succeeded, System.nanoTime() - start);
+    }
+
+    private static void report(String name, int sent, long succeeded, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%s: 전송 %d건, 성공 %d건, %.2f초, %.0f건/초%n", name, sent, succeeded, seconds, succeeded / seconds);
+    }
+}
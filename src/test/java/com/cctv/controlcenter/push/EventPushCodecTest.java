@@ -0,0 +1,87 @@
+package com.cctv.controlcenter.push;
+
+import com.cctv.controlcenter.dto.EventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventPushCodecTest {
+
+    @Test
+    void roundTripsEventsAcrossMessages() {
+        EventPushCodec.Encoder encoder = new EventPushCodec.Encoder();
+        EventPushCodec.Decoder decoder = new EventPushCodec.Decoder();
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        long ts = Instant.parse("2026-10-17T01:00:00Z").toEpochMilli();
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        encoder.writeEvent(first, List.of(1, 7), new EventPushCodec.PushEvent(firstId, "cam-001", "정문 카메라",
+                "VEHICLE", ts, 3, 0.75, new int[] {10, -20, 300, 400}, "{\"vehicleCount\":12}"));
+        encoder.writeHeartbeat(first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        encoder.writeEvent(second, List.of(7), new EventPushCodec.PushEvent(secondId, "cam-001", "정문 카메라",
+                "VEHICLE", ts - 1500, null, null, null, null));
+
+        List<EventPushCodec.DecodedEvent> decoded = decoder.decode(ByteBuffer.wrap(first.toByteArray()));
+        assertThat(decoded).hasSize(1);
+        EventPushCodec.DecodedEvent event = decoded.get(0);
+        assertThat(event.subscriptionIds()).containsExactly(1, 7);
+        assertThat(event.id()).isEqualTo(firstId);
+        assertThat(event.cameraId()).isEqualTo("cam-001");
+        assertThat(event.cameraName()).isEqualTo("정문 카메라");
+        assertThat(event.type()).isEqualTo("VEHICLE");
+        assertThat(event.tsMillis()).isEqualTo(ts);
+        assertThat(event.severity()).isEqualTo(3);
+        assertThat(event.score()).isEqualTo(0.75f);
+        assertThat(event.bbox()).containsExactly(10, -20, 300, 400);
+        assertThat(event.metaJson()).isEqualTo("{\"vehicleCount\":12}");
+
+        // 두 번째 메시지는 사전 정의 없이 번호와 시각 차이만으로 복원되어야 함
+        decoded = decoder.decode(ByteBuffer.wrap(second.toByteArray()));
+        assertThat(decoded).hasSize(1);
+        event = decoded.get(0);
+        assertThat(event.id()).isEqualTo(secondId);
+        assertThat(event.cameraName()).isEqualTo("정문 카메라");
+        assertThat(event.tsMillis()).isEqualTo(ts - 1500);
+        assertThat(event.severity()).isNull();
+        assertThat(event.score()).isNull();
+        assertThat(event.bbox()).isNull();
+        assertThat(event.metaJson()).isNull();
+    }
+
+    @Test
+    void encodesEventTimeInConfiguredZoneRegardlessOfJvmDefault() {
+        TimeZone original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        EventSocketHandler handler = new EventSocketHandler(new ObjectMapper(), new SimpleMeterRegistry(), "Asia/Seoul");
+        try {
+            EventDTO dto = new EventDTO();
+            dto.setId(UUID.randomUUID());
+            dto.setCameraId("cam-001");
+            dto.setType("VEHICLE");
+            dto.setTs(LocalDateTime.of(2026, 10, 17, 10, 0));
+
+            EventPushCodec.Encoder encoder = new EventPushCodec.Encoder();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encoder.writeEvent(out, List.of(1), handler.toPushEvent(dto, null));
+            EventPushCodec.DecodedEvent event = new EventPushCodec.Decoder()
+                    .decode(ByteBuffer.wrap(out.toByteArray())).get(0);
+
+            assertThat(Instant.ofEpochMilli(event.tsMillis())).isEqualTo(Instant.parse("2026-10-17T01:00:00Z"));
+        } finally {
+            handler.shutdown();
+            TimeZone.setDefault(original);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.cctv.controlcenter.repository;
+
+import com.cctv.controlcenter.domain.Camera;
+import com.cctv.controlcenter.domain.Event;
+import com.cctv.controlcenter.domain.User;
+import com.cctv.controlcenter.dto.EventDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 조회용 DTO 쿼리가 카메라 수와 관계없이 events ⋈ cameras 한 번의 SELECT로 끝나는지 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EventRepositoryDtoQueryTest {
+
+    private static final String TYPE = "dto-query-test";
+    private static final int CAMERAS = 5;
+    private static final int EVENTS = 100;
+    private static final Sort SORT = Sort.by(Sort.Order.desc("ts"), Sort.Order.desc("id"));
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("dto-query-test@example.com");
+        user.setName("테스트");
+        user.setPasswordHash("x");
+        user.setRole(User.UserRole.ADMIN);
+        user.setStatus(User.UserStatus.ACTIVE);
+        entityManager.persist(user);
+
+        Camera[] cameras = new Camera[CAMERAS];
+        for (int i = 0; i < CAMERAS; i++) {
+            Camera camera = new Camera();
+            camera.setId("dto-cam-" + i);
+            camera.setUser(user);
+            camera.setName("테스트 카메라 " + i);
+            camera.setLat(37.5);
+            camera.setLng(127.0);
+            camera.setStatus(Camera.CameraStatus.ONLINE);
+            cameras[i] = entityManager.persist(camera);
+        }
+        LocalDateTime base = LocalDateTime.of(2026, 10, 17, 9, 0);
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setId(UUID.randomUUID());
+            event.setCamera(cameras[i % CAMERAS]);
+            event.setTs(base.plusSeconds(i));
+            event.setType(TYPE);
+            event.setSeverity(1 + i % 3);
+            event.setScore(0.5);
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDtoPageUsesOneStatement() {
+        // 결과가 페이지 크기보다 작아 건수를 알 수 있으므로 COUNT 쿼리도 생략됨
+        Page<EventDTO> page = eventRepository.findDtoPage(filter(), PageRequest.of(0, EVENTS * 2, SORT));
+
+        assertThat(page.getContent()).hasSize(EVENTS);
+        assertThat(page.getTotalElements()).isEqualTo(EVENTS);
+        assertSingleStatement(page.getContent());
+    }
+
+    @Test
+    void findDtoPageCountsOnlyWhenTotalIsUnknown() {
+        Page<EventDTO> page = eventRepository.findDtoPage(filter(), PageRequest.of(0, EVENTS / 2, SORT));
+
+        assertThat(page.getTotalElements()).isEqualTo(EVENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findDtoSliceUsesOneStatement() {
+        Slice<EventDTO> slice = eventRepository.findDtoSlice(filter(), PageRequest.of(0, EVENTS, SORT));
+
+        assertThat(slice.getContent()).hasSize(EVENTS);
+        assertThat(slice.hasNext()).isFalse();
+        assertSingleStatement(slice.getContent());
+    }
+
+    @Test
+    void findDtoListUsesOneStatement() {
+        List<EventDTO> list = eventRepository.findDtoList(filter(), SORT, EVENTS);
+
+        assertThat(list).hasSize(EVENTS);
+        assertSingleStatement(list);
+    }
+
+    private static Specification<Event> filter() {
+        return EventSpecifications.filter(null, TYPE, 0, null, null);
+    }
+
+    private void assertSingleStatement(List<EventDTO> rows) {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        // 카메라 엔티티(지연 로딩 프록시 포함)를 전혀 읽지 않아야 함
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(rows).extracting(EventDTO::getCameraId).doesNotContainNull().hasSize(EVENTS);
+        assertThat(rows).extracting(EventDTO::getCameraName).containsOnly(
+                "테스트 카메라 0", "테스트 카메라 1", "테스트 카메라 2", "테스트 카메라 3", "테스트 카메라 4");
+    }
+}